@@ -0,0 +1,22 @@
+-- =================================================================================
+-- E-mail único sem diferenciar maiúsculas/minúsculas (bancos criados antes desta versão do schema.sql)
+-- =================================================================================
+-- Contas antigas podem ter o mesmo e-mail com grafias diferentes (ex.: Ana@x.com e ana@x.com). Somente a
+-- mais antiga consegue entrar, pois o login busca por lower(email). Mesclar ou renomear as demais é uma
+-- decisão manual: o script aborta listando os conflitos e só cria o índice quando não houver nenhum.
+
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(format('%s (%s contas)', email_lower, total), ', ')
+      INTO duplicates
+      FROM (SELECT lower(email) AS email_lower, count(*) AS total
+              FROM users GROUP BY lower(email) HAVING count(*) > 1) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'E-mails duplicados por maiúsculas/minúsculas: %', duplicates;
+    END IF;
+END $$;
+
+DROP INDEX IF EXISTS idx_users_email_lower;
+CREATE UNIQUE INDEX users_email_lower_key ON users (lower(email));
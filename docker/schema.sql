@@ -17,6 +17,8 @@ CREATE TYPE sex_type AS ENUM ('MALE', 'FEMALE', 'OTHER');
 
 -- Alias para compatibilidade com a API Java
 CREATE TYPE patients_sex_enum AS ENUM ('MALE', 'FEMALE', 'OTHER');
+CREATE TYPE users_role_enum AS ENUM ('ADMIN', 'MEMBER');
+CREATE TYPE workspaces_document_type_enum AS ENUM ('CPF', 'CNPJ');
 
 -- =================================================================================
 -- ESTRUTURA MULTI-TENANT
@@ -24,7 +26,7 @@ CREATE TYPE patients_sex_enum AS ENUM ('MALE', 'FEMALE', 'OTHER');
 CREATE TABLE workspaces (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     name VARCHAR(255) NOT NULL,
-    document_type document_type NOT NULL,
+    document_type workspaces_document_type_enum NOT NULL,
     document_number VARCHAR(18) NOT NULL,
     owner_id UUID NOT NULL,
     created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
@@ -39,7 +41,7 @@ CREATE TABLE users (
     email VARCHAR(255) NOT NULL UNIQUE,
     password_hash VARCHAR(255) NOT NULL,
     crm VARCHAR(20) UNIQUE,
-    role user_role NOT NULL DEFAULT 'MEMBER',
+    role users_role_enum NOT NULL DEFAULT 'MEMBER',
     digital_signature_url TEXT,
     password_reset_token VARCHAR(255),
     password_reset_expires TIMESTAMPTZ,
@@ -109,7 +111,15 @@ CREATE TABLE records (
     cid10_code VARCHAR(10),
     record_date TIMESTAMPTZ NOT NULL,
     created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
-    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    -- Busca textual no prontuário (português): título e hipótese pesam mais que avaliação, que pesa mais que S e P
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(diagnostic_hypothesis, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(assessment, '')), 'B') ||
+        setweight(to_tsvector('portuguese', coalesce(subjective, '')), 'C') ||
+        setweight(to_tsvector('portuguese', coalesce(plan, '')), 'C')
+    ) STORED
 );
 
 CREATE TABLE appointments (
@@ -123,7 +133,14 @@ CREATE TABLE appointments (
     notes TEXT,
     record_id UUID REFERENCES records(id) ON DELETE SET NULL,
     created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
-    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    -- Duração limitada: permite buscar por intervalo apenas pelo índice de start_time
+    CONSTRAINT appointments_time_range_check CHECK (end_time > start_time AND end_time - start_time <= INTERVAL '12 hours'),
+    -- Sem sobreposição de horários por profissional; consultas canceladas e faltas liberam o horário
+    CONSTRAINT appointments_user_time_no_overlap EXCLUDE USING gist (
+        user_id WITH =,
+        tstzrange(start_time, end_time) WITH &&
+    ) WHERE (status NOT IN ('CANCELED', 'NO_SHOW'))
 );
 
 CREATE TABLE procedure_points (
@@ -215,10 +232,22 @@ CREATE TABLE lab_exam_results (
 -- ÍNDICES PARA PERFORMANCE
 -- =================================================================================
 CREATE INDEX idx_appointments_on_start_time ON appointments(start_time);
+-- Agenda por intervalo: do consultório inteiro e de um profissional
+CREATE INDEX idx_appointments_workspace_start ON appointments (workspace_id, start_time);
+CREATE INDEX idx_appointments_workspace_user_start ON appointments (workspace_id, user_id, start_time);
 CREATE INDEX idx_patients_on_workspace_id ON patients(workspace_id);
 CREATE INDEX idx_users_on_workspace_id ON users(workspace_id);
 CREATE INDEX idx_users_password_reset_token ON users(password_reset_token);
-CREATE INDEX idx_records_on_patient_id ON records(patient_id);
+-- Login pelo e-mail normalizado (lower(email)); único para barrar cadastros que diferem só por maiúsculas
+CREATE UNIQUE INDEX users_email_lower_key ON users (lower(email));
+-- Linha do tempo do prontuário paginada por cursor (seek em record_date, id, do mais recente ao mais antigo)
+CREATE INDEX idx_records_on_patient_id ON records (patient_id, record_date DESC, id DESC);
+CREATE INDEX idx_records_search_vector ON records USING GIN (search_vector);
 CREATE INDEX idx_patients_full_name_trgm ON patients USING GIN (full_name gin_trgm_ops);
+-- Listagem paginada por cursor (seek em full_name, id) apenas de pacientes ativos
+CREATE INDEX idx_patients_workspace_active_name ON patients (workspace_id, full_name, id) WHERE is_active = true;
+CREATE INDEX idx_patients_workspace_name_trgm_gist ON patients USING GIST (workspace_id, full_name gist_trgm_ops) WHERE is_active = true;
+CREATE INDEX idx_patients_workspace_tax_id_prefix ON patients (workspace_id, tax_id text_pattern_ops) WHERE is_active = true;
+CREATE INDEX idx_patients_workspace_phone_digits_prefix ON patients (workspace_id, (regexp_replace(contact_phone, '\D', '', 'g')) text_pattern_ops) WHERE is_active = true;
 CREATE INDEX idx_lab_exams_on_patient_id ON lab_exams(patient_id);
 
@@ -0,0 +1,47 @@
+package com.mediapp.api.config;
+
+import com.mediapp.api.jdbc.ConnectionBulkheadDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Modo de threads virtuais (opcional: spring.threads.virtual.enabled, efetivo a partir do Java 21).
+ * <p>
+ * O Spring Boot coloca o executor do Tomcat e o applicationTaskExecutor (usado pelas respostas assíncronas,
+ * como a exportação de pacientes) em threads virtuais. Como cada requisição faz JDBC bloqueante, o acesso ao
+ * banco passa por um bulkhead (jdbc.bulkhead.*) dimensionado pelo pool do Hikari. O bulkhead só é criado quando as
+ * threads virtuais estão de fato ativas (propriedade ligada e Java 21+); no Java 17 vale o connection-timeout do Hikari.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionBulkheadPostProcessor(Environment environment,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        int permits = environment.getProperty("jdbc.bulkhead.permits", Integer.class,
+            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        // Sem valor próprio, espera o mesmo que o Hikari esperaria por uma conexão
+        Duration acquireTimeout = environment.getProperty("jdbc.bulkhead.acquire-timeout", Duration.class,
+            Duration.ofMillis(environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L)));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionBulkheadDataSource)) {
+                    return new ConnectionBulkheadDataSource(dataSource, permits, acquireTimeout, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
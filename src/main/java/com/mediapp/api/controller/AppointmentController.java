@@ -0,0 +1,234 @@
+package com.mediapp.api.controller;
+
+import com.mediapp.api.dto.appointment.AgendaItemDto;
+import com.mediapp.api.dto.appointment.AgendaView;
+import com.mediapp.api.dto.appointment.CreateAppointmentDto;
+import com.mediapp.api.dto.appointment.FreeSlotDto;
+import com.mediapp.api.dto.appointment.UpdateAppointmentDto;
+import com.mediapp.api.entity.Appointment;
+import com.mediapp.api.entity.AppointmentStatus;
+import com.mediapp.api.security.AuthenticatedUser;
+import com.mediapp.api.service.AppointmentService;
+import com.mediapp.api.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Tag(name = "Appointments", description = "Endpoints para agendamento de consultas")
+@RestController
+@RequestMapping("/api/appointments")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AppointmentController {
+
+    private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
+
+    public AppointmentController(AppointmentService appointmentService, AvailabilityService availabilityService) {
+        this.appointmentService = appointmentService;
+        this.availabilityService = availabilityService;
+    }
+
+    @Operation(
+        summary = "Agendar consulta",
+        description = "Agenda uma consulta para um paciente do workspace. O profissional padrão é o usuário autenticado. " +
+            "Horários que se sobrepõem a outra consulta ativa do mesmo profissional são recusados."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Consulta agendada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Dados de entrada ou intervalo inválidos"),
+        @ApiResponse(responseCode = "404", description = "Paciente ou profissional não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Horário indisponível para o profissional"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @PostMapping
+    public ResponseEntity<Appointment> create(@Valid @RequestBody CreateAppointmentDto dto) {
+        AuthenticatedUser user = getCurrentUser();
+        Appointment appointment = appointmentService.create(dto, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(appointment);
+    }
+
+    @Operation(
+        summary = "Listar consultas por intervalo",
+        description = "Retorna as consultas do workspace que se sobrepõem ao intervalo [from, to), ordenadas pelo início. " +
+            "O intervalo pode ter no máximo 31 dias; informe userId para a agenda de um profissional."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Consultas retornadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Intervalo inválido"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping
+    public ResponseEntity<List<Appointment>> findRange(
+        @Parameter(description = "Início do intervalo (ISO-8601)", example = "2024-05-20T00:00:00Z")
+        @RequestParam Instant from,
+        @Parameter(description = "Fim do intervalo, exclusivo (ISO-8601)", example = "2024-05-27T00:00:00Z")
+        @RequestParam Instant to,
+        @Parameter(description = "UUID do profissional", example = "123e4567-e89b-12d3-a456-426614174001")
+        @RequestParam(required = false) UUID userId
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        List<Appointment> appointments = appointmentService.findRange(user, from, to, userId);
+        return ResponseEntity.ok(appointments);
+    }
+
+    @Operation(
+        summary = "Agenda do dia ou da semana",
+        description = "Retorna as consultas do dia (ou da semana, de segunda a domingo) com nome e telefone do paciente, " +
+            "ordenadas pelo início, opcionalmente filtradas por profissional e status. Envia ETag fraco; com " +
+            "If-None-Match igual ao ETag atual responde 304 sem carregar a agenda."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Agenda retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Agenda inalterada desde o ETag informado"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/agenda")
+    public ResponseEntity<List<AgendaItemDto>> agenda(
+        @Parameter(description = "Dia da agenda (padrão: hoje)", example = "2024-05-20")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @Parameter(description = "Período da agenda", example = "DAY")
+        @RequestParam(defaultValue = "DAY") AgendaView view,
+        @Parameter(description = "UUID do profissional", example = "123e4567-e89b-12d3-a456-426614174001")
+        @RequestParam(required = false) UUID userId,
+        @Parameter(description = "Status a incluir (padrão: todos)", example = "SCHEDULED,CONFIRMED")
+        @RequestParam(required = false) List<AppointmentStatus> status,
+        WebRequest request
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        String eTag = agendaETag(appointmentService.agendaVersion(user, date, view, userId, status));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        List<AgendaItemDto> items = appointmentService.agenda(user, date, view, userId, status);
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(items);
+    }
+
+    @Operation(
+        summary = "Horários livres de um profissional",
+        description = "Retorna os próximos horários livres, em ordem cronológica, dentro do horário de atendimento " +
+            "configurado, a partir do dia informado (padrão: hoje) e pelo número de dias pedido (máximo 31)."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Horários livres retornados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+        @ApiResponse(responseCode = "404", description = "Profissional não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<List<FreeSlotDto>> findFreeSlots(
+        @Parameter(description = "UUID do profissional (padrão: usuário autenticado)", example = "123e4567-e89b-12d3-a456-426614174001")
+        @RequestParam(required = false) UUID userId,
+        @Parameter(description = "Primeiro dia da busca (padrão: hoje)", example = "2024-05-20")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Quantidade de dias a partir de from (máximo 31)", example = "7")
+        @RequestParam(defaultValue = "7") int days,
+        @Parameter(description = "Duração de cada horário em minutos", example = "30")
+        @RequestParam(defaultValue = "30") int slotMinutes,
+        @Parameter(description = "Quantidade máxima de horários (máximo 200)", example = "20")
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        List<FreeSlotDto> slots = availabilityService.findFreeSlots(user, userId, from, days, slotMinutes, limit);
+        return ResponseEntity.ok(slots);
+    }
+
+    @Operation(
+        summary = "Buscar consulta por ID",
+        description = "Retorna uma consulta do workspace do usuário autenticado."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Consulta encontrada com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Consulta não encontrada"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<Appointment> findOne(
+        @Parameter(description = "UUID da consulta", example = "123e4567-e89b-12d3-a456-426614174000")
+        @PathVariable UUID id
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        Appointment appointment = appointmentService.findOne(id, user);
+        return ResponseEntity.ok(appointment);
+    }
+
+    @Operation(
+        summary = "Atualizar consulta",
+        description = "Remarca a consulta ou altera status e observações. Consultas CANCELED e NO_SHOW liberam o horário."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Consulta atualizada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Intervalo inválido"),
+        @ApiResponse(responseCode = "404", description = "Consulta não encontrada"),
+        @ApiResponse(responseCode = "409", description = "Horário indisponível para o profissional"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<Appointment> update(
+        @Parameter(description = "UUID da consulta", example = "123e4567-e89b-12d3-a456-426614174000")
+        @PathVariable UUID id,
+        @Valid @RequestBody UpdateAppointmentDto dto
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        Appointment appointment = appointmentService.update(id, dto, user);
+        return ResponseEntity.ok(appointment);
+    }
+
+    @Operation(
+        summary = "Remover consulta",
+        description = "Remove definitivamente uma consulta do workspace. Para desmarcar mantendo o histórico, use o status CANCELED."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Consulta removida com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Consulta não encontrada"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> remove(
+        @Parameter(description = "UUID da consulta", example = "123e4567-e89b-12d3-a456-426614174000")
+        @PathVariable UUID id
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        appointmentService.remove(id, user);
+        return ResponseEntity.ok(Map.of("message", "Consulta removida com sucesso."));
+    }
+
+    /**
+     * ETag fraco da agenda: quantidade de consultas (cobre remoções) e maiores updated_at, em microssegundos,
+     * das consultas e dos pacientes do período.
+     */
+    static String agendaETag(AppointmentService.AgendaVersion version) {
+        return "W/\"" + version.count() + "-" + Long.toHexString(toMicros(version.lastUpdatedAt())) + "-"
+            + Long.toHexString(toMicros(version.lastPatientUpdatedAt())) + "\"";
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private AuthenticatedUser getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return (AuthenticatedUser) auth.getPrincipal();
+    }
+}
@@ -5,7 +5,7 @@ import com.mediapp.api.dto.auth.AuthResponseDTO;
 import com.mediapp.api.dto.auth.LoginDto;
 import com.mediapp.api.dto.auth.LoginResponseDto;
 import com.mediapp.api.dto.auth.ProfileDto;
-import com.mediapp.api.entity.User;
+import com.mediapp.api.security.AuthenticatedUser;
 import com.mediapp.api.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,6 +13,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,6 +22,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Tag(name = "Authentication", description = "Endpoints de autenticação e registro")
 @RestController
@@ -64,16 +69,40 @@ public class AuthController {
 
     @Operation(
         summary = "Obter perfil do usuário",
-        description = "Retorna dados do usuário autenticado com workspace"
+        description = "Retorna dados do usuário autenticado com workspace. Envia ETag fraco; com If-None-Match " +
+            "igual ao perfil atual, responde 304 sem corpo."
     )
     @SecurityRequirement(name = "Bearer Authentication")
-    @ApiResponse(responseCode = "200", description = "Dados do usuário")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Dados do usuário"),
+        @ApiResponse(responseCode = "304", description = "Perfil inalterado desde o ETag informado")
+    })
     @GetMapping("/profile")
-    public ResponseEntity<ProfileDto> profile() {
+    public ResponseEntity<ProfileDto> profile(WebRequest request) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) auth.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) auth.getPrincipal();
         ProfileDto profile = authService.getProfile(user);
-        return ResponseEntity.ok(profile);
+        String eTag = profileETag(profile);
+        if (request.checkNotModified(eTag)) {
+            // 304 já preparado pelo Spring, sem serializar o perfil
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(profile);
     }
-}
 
+    /**
+     * ETag fraco do perfil: id do usuário e updated_at (em microssegundos) do usuário e do workspace.
+     */
+    static String profileETag(ProfileDto profile) {
+        long workspaceVersion = profile.workspace() != null ? toMicros(profile.workspace().updatedAt()) : 0;
+        return "W/\"" + profile.id() + "-" + Long.toHexString(toMicros(profile.updatedAt())) + "-"
+            + Long.toHexString(workspaceVersion) + "\"";
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
@@ -1,9 +1,13 @@
 package com.mediapp.api.controller;
 
 import com.mediapp.api.dto.patient.CreatePatientDto;
+import com.mediapp.api.dto.patient.PatientExportFormat;
+import com.mediapp.api.dto.patient.PatientImportResultDto;
+import com.mediapp.api.dto.patient.PatientPageDto;
+import com.mediapp.api.dto.patient.PatientSummaryDto;
 import com.mediapp.api.dto.patient.UpdatePatientDto;
 import com.mediapp.api.entity.Patient;
-import com.mediapp.api.entity.User;
+import com.mediapp.api.security.AuthenticatedUser;
 import com.mediapp.api.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,12 +16,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -46,11 +56,50 @@ public class PatientController {
     })
     @PostMapping
     public ResponseEntity<Patient> create(@Valid @RequestBody CreatePatientDto dto) {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         Patient patient = patientService.create(dto, user);
         return ResponseEntity.status(HttpStatus.CREATED).body(patient);
     }
 
+    @Operation(
+        summary = "Importar pacientes (JSON)",
+        description = "Importa em lote uma lista de pacientes para o workspace do usuário autenticado (máximo 50.000). " +
+            "Linhas inválidas ou com CPF já cadastrado são ignoradas e reportadas individualmente."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importação concluída; verifique os erros por linha"),
+        @ApiResponse(responseCode = "400", description = "Lista vazia ou acima do limite"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PatientImportResultDto> importJson(@RequestBody List<CreatePatientDto> rows) {
+        AuthenticatedUser user = getCurrentUser();
+        PatientImportResultDto result = patientService.importPatients(rows, user);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+        summary = "Importar pacientes (CSV)",
+        description = "Importa em lote um arquivo CSV com cabeçalho usando os nomes dos campos de criação de paciente " +
+            "(o mesmo formato da exportação CSV). Linhas inválidas ou com CPF já cadastrado são reportadas individualmente."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importação concluída; verifique os erros por linha"),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio, inválido ou acima do limite"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PatientImportResultDto> importCsv(
+        @Parameter(description = "Arquivo CSV de pacientes")
+        @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        AuthenticatedUser user = getCurrentUser();
+        try (InputStream in = file.getInputStream()) {
+            PatientImportResultDto result = patientService.importCsv(in, user);
+            return ResponseEntity.ok(result);
+        }
+    }
+
     @Operation(
         summary = "Listar pacientes",
         description = "Retorna todos os pacientes ativos do workspace do usuário autenticado, ordenados por nome."
@@ -61,11 +110,99 @@ public class PatientController {
     })
     @GetMapping
     public ResponseEntity<List<Patient>> findAll() {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         List<Patient> patients = patientService.findAll(user);
         return ResponseEntity.ok(patients);
     }
 
+    @Operation(
+        summary = "Listar pacientes paginados",
+        description = "Retorna um resumo dos pacientes ativos do workspace, ordenados por nome, paginados por cursor. " +
+            "Use o campo nextCursor da resposta para buscar a próxima página."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página de pacientes retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<PatientPageDto> findPage(
+        @Parameter(description = "Cursor retornado pela página anterior")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Quantidade de pacientes por página (máximo 200)", example = "50")
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        PatientPageDto page = patientService.findPage(user, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+        summary = "Buscar pacientes",
+        description = "Busca ranqueada de pacientes ativos do workspace. Texto é comparado por similaridade com o nome " +
+            "(tolerante a erros de digitação); números buscam por prefixo no CPF e no telefone, com ou sem máscara."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Resultados da busca retornados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Termo de busca muito curto"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<PatientSummaryDto>> search(
+        @Parameter(description = "Termo de busca (nome, CPF ou telefone)", example = "maria silva")
+        @RequestParam String q,
+        @Parameter(description = "Quantidade máxima de resultados (máximo 50)", example = "20")
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        List<PatientSummaryDto> results = patientService.search(user, q, limit);
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(
+        summary = "Typeahead de pacientes",
+        description = "Sugestões de pacientes ativos para autocompletar, por prefixo das palavras do nome (sem acento), " +
+            "do CPF ou do telefone. Quando o índice em memória está habilitado, responde sem consultar o banco."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Termo de busca muito curto"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<PatientSummaryDto>> typeahead(
+        @Parameter(description = "Início do nome, CPF ou telefone", example = "mar sil")
+        @RequestParam String q,
+        @Parameter(description = "Quantidade máxima de sugestões (máximo 50)", example = "10")
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        List<PatientSummaryDto> results = patientService.typeahead(user, q, limit);
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(
+        summary = "Exportar pacientes",
+        description = "Exporta todos os pacientes do workspace (ativos e inativos) em NDJSON ou CSV. " +
+            "A resposta é transmitida em streaming, com uso de memória constante independentemente do número de pacientes."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+        @Parameter(description = "Formato da exportação", example = "NDJSON")
+        @RequestParam(defaultValue = "NDJSON") PatientExportFormat format
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        StreamingResponseBody body = out -> patientService.export(user, format, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pacientes." + format.getFileExtension() + "\"")
+            .body(body);
+    }
+
     @Operation(
         summary = "Buscar paciente por ID",
         description = "Retorna os dados de um paciente específico do workspace do usuário autenticado."
@@ -80,7 +217,7 @@ public class PatientController {
         @Parameter(description = "UUID do paciente", example = "123e4567-e89b-12d3-a456-426614174000")
         @PathVariable UUID id
     ) {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         Patient patient = patientService.findOne(id, user);
         return ResponseEntity.ok(patient);
     }
@@ -102,7 +239,7 @@ public class PatientController {
         @PathVariable UUID id,
         @Valid @RequestBody UpdatePatientDto dto
     ) {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         Patient patient = patientService.update(id, dto, user);
         return ResponseEntity.ok(patient);
     }
@@ -121,14 +258,14 @@ public class PatientController {
         @Parameter(description = "UUID do paciente", example = "123e4567-e89b-12d3-a456-426614174000")
         @PathVariable UUID id
     ) {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         patientService.remove(id, user);
         return ResponseEntity.ok(Map.of("message", "Paciente removido com sucesso."));
     }
 
-    private User getCurrentUser() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        return (User) auth.getPrincipal();
+        return (AuthenticatedUser) auth.getPrincipal();
     }
 }
 
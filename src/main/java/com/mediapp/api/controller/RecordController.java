@@ -0,0 +1,127 @@
+package com.mediapp.api.controller;
+
+import com.mediapp.api.dto.record.CreateRecordDto;
+import com.mediapp.api.dto.record.RecordPageDto;
+import com.mediapp.api.dto.record.RecordSearchResultDto;
+import com.mediapp.api.entity.MedicalRecord;
+import com.mediapp.api.security.AuthenticatedUser;
+import com.mediapp.api.service.RecordService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Tag(name = "Records", description = "Endpoints para o prontuário (registros SOAP) dos pacientes")
+@RestController
+@RequestMapping("/api/records")
+@SecurityRequirement(name = "Bearer Authentication")
+public class RecordController {
+
+    private final RecordService recordService;
+
+    public RecordController(RecordService recordService) {
+        this.recordService = recordService;
+    }
+
+    @Operation(
+        summary = "Criar registro no prontuário",
+        description = "Cria um registro SOAP para um paciente ativo do workspace. O autor é o usuário autenticado."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Registro criado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @ApiResponse(responseCode = "404", description = "Paciente não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @PostMapping
+    public ResponseEntity<MedicalRecord> create(@Valid @RequestBody CreateRecordDto dto) {
+        AuthenticatedUser user = getCurrentUser();
+        MedicalRecord record = recordService.create(dto, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(record);
+    }
+
+    @Operation(
+        summary = "Linha do tempo do prontuário",
+        description = "Retorna os cabeçalhos (título, data, CID-10 e autor) dos registros do paciente, do mais recente " +
+            "ao mais antigo, paginados por cursor. As seções de texto são retornadas apenas no detalhe do registro."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "404", description = "Paciente não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping
+    public ResponseEntity<RecordPageDto> findTimeline(
+        @Parameter(description = "UUID do paciente", example = "123e4567-e89b-12d3-a456-426614174000")
+        @RequestParam UUID patientId,
+        @Parameter(description = "Cursor opaco retornado em nextCursor pela página anterior")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Itens por página (máximo 100)", example = "20")
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        RecordPageDto page = recordService.findTimeline(patientId, user, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+        summary = "Busca textual no prontuário",
+        description = "Busca nos registros dos pacientes do workspace (título, hipótese diagnóstica, avaliação, subjetivo e " +
+            "plano), em português, ordenando por relevância. Aceita \"frase exata\", OR e -termo. Cada resultado traz o " +
+            "paciente e trechos em HTML escapado, com os termos entre <mark> e </mark>."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Resultados retornados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Termo de busca muito curto"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<RecordSearchResultDto>> search(
+        @Parameter(description = "Termo de busca", example = "melasma")
+        @RequestParam String q,
+        @Parameter(description = "UUID do paciente (padrão: todos do workspace)", example = "123e4567-e89b-12d3-a456-426614174000")
+        @RequestParam(required = false) UUID patientId,
+        @Parameter(description = "Quantidade máxima de resultados (máximo 50)", example = "20")
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        List<RecordSearchResultDto> results = recordService.search(user, q, patientId, limit);
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(
+        summary = "Buscar registro por ID",
+        description = "Retorna o registro completo, com todas as seções de texto."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Registro encontrado com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Registro não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Token JWT inválido ou ausente")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<MedicalRecord> findOne(
+        @Parameter(description = "UUID do registro", example = "123e4567-e89b-12d3-a456-426614174000")
+        @PathVariable UUID id
+    ) {
+        AuthenticatedUser user = getCurrentUser();
+        MedicalRecord record = recordService.findOne(id, user);
+        return ResponseEntity.ok(record);
+    }
+
+    private AuthenticatedUser getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return (AuthenticatedUser) auth.getPrincipal();
+    }
+}
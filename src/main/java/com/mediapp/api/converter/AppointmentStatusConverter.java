@@ -0,0 +1,25 @@
+package com.mediapp.api.converter;
+
+import com.mediapp.api.entity.AppointmentStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = false)
+public class AppointmentStatusConverter implements AttributeConverter<AppointmentStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(AppointmentStatus attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return attribute.name();
+    }
+
+    @Override
+    public AppointmentStatus convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        return AppointmentStatus.valueOf(dbData);
+    }
+}
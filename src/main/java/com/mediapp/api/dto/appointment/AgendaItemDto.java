@@ -0,0 +1,40 @@
+package com.mediapp.api.dto.appointment;
+
+import com.mediapp.api.entity.AppointmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Consulta da agenda com o resumo do paciente e do profissional")
+public record AgendaItemDto(
+    @Schema(description = "ID da consulta", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID id,
+
+    @Schema(description = "Início da consulta (ISO-8601)", example = "2024-05-20T13:00:00Z")
+    Instant startTime,
+
+    @Schema(description = "Término da consulta (ISO-8601)", example = "2024-05-20T13:30:00Z")
+    Instant endTime,
+
+    @Schema(description = "Status da consulta", example = "CONFIRMED")
+    AppointmentStatus status,
+
+    @Schema(description = "Observações da consulta", example = "Retorno pós-procedimento")
+    String notes,
+
+    @Schema(description = "ID do paciente", example = "123e4567-e89b-12d3-a456-426614174002")
+    UUID patientId,
+
+    @Schema(description = "Nome completo do paciente", example = "Maria Silva Santos")
+    String patientFullName,
+
+    @Schema(description = "Telefone de contato principal do paciente", example = "(11) 98765-4321")
+    String patientContactPhone,
+
+    @Schema(description = "ID do profissional", example = "123e4567-e89b-12d3-a456-426614174001")
+    UUID userId,
+
+    @Schema(description = "Nome do profissional", example = "Dra. Ana Souza")
+    String userFullName
+) {}
@@ -0,0 +1,9 @@
+package com.mediapp.api.dto.appointment;
+
+/**
+ * Períodos suportados pela agenda: o dia informado ou a semana (segunda a domingo) que o contém.
+ */
+public enum AgendaView {
+    DAY,
+    WEEK
+}
@@ -0,0 +1,30 @@
+package com.mediapp.api.dto.appointment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "DTO para agendamento de consulta")
+public record CreateAppointmentDto(
+
+    @Schema(description = "ID do paciente", example = "123e4567-e89b-12d3-a456-426614174000", required = true)
+    @NotNull(message = "O paciente é obrigatório.")
+    UUID patientId,
+
+    @Schema(description = "ID do profissional que fará o atendimento (padrão: usuário autenticado)",
+        example = "123e4567-e89b-12d3-a456-426614174001", required = false)
+    UUID userId,
+
+    @Schema(description = "Início da consulta (ISO-8601)", example = "2024-05-20T13:00:00Z", required = true)
+    @NotNull(message = "O horário de início é obrigatório.")
+    Instant startTime,
+
+    @Schema(description = "Término da consulta (ISO-8601)", example = "2024-05-20T13:30:00Z", required = true)
+    @NotNull(message = "O horário de término é obrigatório.")
+    Instant endTime,
+
+    @Schema(description = "Observações da consulta", example = "Retorno pós-procedimento", required = false)
+    String notes
+) {}
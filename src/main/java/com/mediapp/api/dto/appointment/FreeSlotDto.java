@@ -0,0 +1,14 @@
+package com.mediapp.api.dto.appointment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Horário livre na agenda de um profissional")
+public record FreeSlotDto(
+    @Schema(description = "Início do horário (ISO-8601)", example = "2024-05-20T11:00:00Z")
+    Instant startTime,
+
+    @Schema(description = "Término do horário (ISO-8601)", example = "2024-05-20T11:30:00Z")
+    Instant endTime
+) {}
@@ -0,0 +1,22 @@
+package com.mediapp.api.dto.appointment;
+
+import com.mediapp.api.entity.AppointmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "DTO para atualização parcial de consulta (remarcação, status e observações)")
+public record UpdateAppointmentDto(
+
+    @Schema(description = "Novo início da consulta (ISO-8601)", example = "2024-05-20T14:00:00Z", required = false)
+    Instant startTime,
+
+    @Schema(description = "Novo término da consulta (ISO-8601)", example = "2024-05-20T14:30:00Z", required = false)
+    Instant endTime,
+
+    @Schema(description = "Status da consulta", example = "CONFIRMED", required = false)
+    AppointmentStatus status,
+
+    @Schema(description = "Observações da consulta", example = "Paciente pediu para chegar mais cedo", required = false)
+    String notes
+) {}
@@ -0,0 +1,20 @@
+package com.mediapp.api.dto.patient;
+
+/**
+ * Formatos suportados pela exportação de pacientes.
+ */
+public enum PatientExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    PatientExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() { return contentType; }
+    public String getFileExtension() { return fileExtension; }
+}
@@ -0,0 +1,17 @@
+package com.mediapp.api.dto.patient;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Erro de importação de uma linha")
+public record PatientImportErrorDto(
+    @Schema(description = "Número da linha importada (1 = primeiro paciente)", example = "12")
+    int row,
+
+    @Schema(description = "CPF informado na linha, quando disponível", example = "12345678900")
+    String taxId,
+
+    @Schema(description = "Mensagens de erro da linha")
+    List<String> messages
+) {}
@@ -0,0 +1,20 @@
+package com.mediapp.api.dto.patient;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado da importação em lote de pacientes")
+public record PatientImportResultDto(
+    @Schema(description = "Quantidade de linhas recebidas", example = "5000")
+    int totalRows,
+
+    @Schema(description = "Quantidade de pacientes importados", example = "4987")
+    int importedRows,
+
+    @Schema(description = "Quantidade de linhas rejeitadas", example = "13")
+    int failedRows,
+
+    @Schema(description = "Erros por linha (validação ou CPF já cadastrado)")
+    List<PatientImportErrorDto> errors
+) {}
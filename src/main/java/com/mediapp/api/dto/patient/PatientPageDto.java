@@ -0,0 +1,14 @@
+package com.mediapp.api.dto.patient;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de pacientes paginada por cursor")
+public record PatientPageDto(
+    @Schema(description = "Pacientes da página atual, ordenados por nome")
+    List<PatientSummaryDto> items,
+
+    @Schema(description = "Cursor para a próxima página (nulo quando não há mais resultados)", example = "TWFyaWEgU2lsdmEAMTIzZTQ1Njc")
+    String nextCursor
+) {}
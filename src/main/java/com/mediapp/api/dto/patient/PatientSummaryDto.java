@@ -0,0 +1,23 @@
+package com.mediapp.api.dto.patient;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Resumo de paciente usado em listagens")
+public record PatientSummaryDto(
+    @Schema(description = "ID do paciente", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID id,
+
+    @Schema(description = "Nome completo do paciente", example = "Maria Silva Santos")
+    String fullName,
+
+    @Schema(description = "CPF normalizado do paciente", example = "12345678900")
+    String taxId,
+
+    @Schema(description = "Data de nascimento do paciente", example = "1990-05-15")
+    String birthDate,
+
+    @Schema(description = "Telefone de contato principal", example = "(11) 98765-4321")
+    String contactPhone
+) {}
@@ -9,6 +9,7 @@ public record UpdatePatientDto(
 
     @Schema(description = "Nome completo do paciente", example = "João Silva Santos", required = false)
     @Size(min = 1, message = "O nome completo deve ter pelo menos 1 caractere.")
+    @Size(max = 255, message = "O nome completo deve ter no máximo 255 caracteres.")
     String fullName,
 
     @Schema(description = "CPF do paciente (formato XXX.XXX.XXX-XX ou 11 dígitos)", example = "123.456.789-00", required = false)
@@ -20,55 +21,71 @@ public record UpdatePatientDto(
     String birthDate,
 
     @Schema(description = "Telefone de contato principal", example = "(11) 98765-4321", required = false)
+    @Size(max = 20, message = "O telefone de contato deve ter no máximo 20 caracteres.")
     String contactPhone,
 
     @Schema(description = "RG do paciente", example = "12.345.678-9", required = false)
+    @Size(max = 20, message = "O RG deve ter no máximo 20 caracteres.")
     String identityDocument,
 
     @Schema(description = "Sexo do paciente", example = "MALE", required = false)
     SexType sex,
 
     @Schema(description = "Telefone de contato secundário", example = "(11) 91234-5678", required = false)
+    @Size(max = 20, message = "O telefone secundário deve ter no máximo 20 caracteres.")
     String secondaryContactPhone,
 
     @Schema(description = "E-mail do paciente", example = "joao.silva@email.com", required = false)
     @Email(message = "Por favor, insira um e-mail válido.")
+    @Size(max = 255, message = "O e-mail deve ter no máximo 255 caracteres.")
     String email,
 
     @Schema(description = "CEP do endereço", example = "01234-567", required = false)
+    @Size(max = 10, message = "O CEP deve ter no máximo 10 caracteres.")
     String zipCode,
 
     @Schema(description = "Rua do endereço", example = "Rua das Flores", required = false)
+    @Size(max = 255, message = "A rua deve ter no máximo 255 caracteres.")
     String addressStreet,
 
     @Schema(description = "Número do endereço", example = "123", required = false)
+    @Size(max = 10, message = "O número do endereço deve ter no máximo 10 caracteres.")
     String addressNumber,
 
     @Schema(description = "Complemento do endereço", example = "Apto 45", required = false)
+    @Size(max = 100, message = "O complemento deve ter no máximo 100 caracteres.")
     String addressComplement,
 
     @Schema(description = "Bairro do endereço", example = "Centro", required = false)
+    @Size(max = 100, message = "O bairro deve ter no máximo 100 caracteres.")
     String addressNeighborhood,
 
     @Schema(description = "Cidade do endereço", example = "São Paulo", required = false)
+    @Size(max = 100, message = "A cidade deve ter no máximo 100 caracteres.")
     String addressCity,
 
     @Schema(description = "Estado do endereço (sigla)", example = "SP", required = false)
+    @Size(max = 2, message = "O estado deve ter no máximo 2 caracteres.")
     String addressState,
 
     @Schema(description = "Nome completo do responsável", example = "Maria Silva Santos", required = false)
+    @Size(max = 255, message = "O nome do responsável deve ter no máximo 255 caracteres.")
     String guardianFullName,
 
     @Schema(description = "CPF do responsável", example = "987.654.321-00", required = false)
+    @Size(max = 14, message = "O CPF do responsável deve ter no máximo 14 caracteres.")
     String guardianTaxId,
 
     @Schema(description = "Telefone de contato do responsável", example = "(11) 99876-5432", required = false)
+    @Size(max = 20, message = "O telefone do responsável deve ter no máximo 20 caracteres.")
     String guardianContactPhone,
 
     @Schema(description = "Plano de saúde", example = "Unimed", required = false)
+    @Size(max = 100, message = "O plano de saúde deve ter no máximo 100 caracteres.")
     String healthInsurance,
 
     @Schema(description = "Número da carteirinha do plano", example = "123456789", required = false)
+    @Size(max = 50, message = "O número da carteirinha deve ter no máximo 50 caracteres.")
     String insuranceCardNumber,
 
     @Schema(description = "Alergias conhecidas", example = "Alergia a penicilina, alergia a frutos do mar", required = false)
@@ -0,0 +1,54 @@
+package com.mediapp.api.dto.record;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "DTO para criação de registro no prontuário (SOAP)")
+public record CreateRecordDto(
+
+    @Schema(description = "ID do paciente", example = "123e4567-e89b-12d3-a456-426614174000", required = true)
+    @NotNull(message = "O paciente é obrigatório.")
+    UUID patientId,
+
+    @Schema(description = "Título do registro", example = "Consulta de retorno", required = true)
+    @NotBlank(message = "O título é obrigatório.")
+    @Size(max = 255, message = "O título deve ter no máximo 255 caracteres.")
+    String title,
+
+    @Schema(description = "Data do atendimento (padrão: agora)", example = "2024-05-20T13:00:00Z", required = false)
+    Instant recordDate,
+
+    @Schema(description = "Subjetivo (relato do paciente)", required = false)
+    String subjective,
+
+    @Schema(description = "Objetivo (achados do exame)", required = false)
+    String objective,
+
+    @Schema(description = "Avaliação", required = false)
+    String assessment,
+
+    @Schema(description = "Plano", required = false)
+    String plan,
+
+    @Schema(description = "Queixa principal", required = false)
+    String chiefComplaint,
+
+    @Schema(description = "História da doença atual", required = false)
+    String historyOfPresentIllness,
+
+    @Schema(description = "Exame dermatológico", required = false)
+    String dermatologicalExam,
+
+    @Schema(description = "Hipótese diagnóstica", example = "Melasma", required = false)
+    @Size(max = 255, message = "A hipótese diagnóstica deve ter no máximo 255 caracteres.")
+    String diagnosticHypothesis,
+
+    @Schema(description = "Código CID-10", example = "L81.1", required = false)
+    @Size(max = 10, message = "O código CID-10 deve ter no máximo 10 caracteres.")
+    String cid10Code
+) {}
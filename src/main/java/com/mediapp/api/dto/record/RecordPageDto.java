@@ -0,0 +1,14 @@
+package com.mediapp.api.dto.record;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página da linha do tempo do prontuário paginada por cursor")
+public record RecordPageDto(
+    @Schema(description = "Registros da página atual, do mais recente ao mais antigo")
+    List<RecordSummaryDto> items,
+
+    @Schema(description = "Cursor para a próxima página (nulo quando não há mais resultados)", example = "MTcxNjIxMDAwMDAwMDAwADEyM2U0NTY3")
+    String nextCursor
+) {}
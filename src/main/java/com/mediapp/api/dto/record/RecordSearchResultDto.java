@@ -0,0 +1,34 @@
+package com.mediapp.api.dto.record;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Resultado da busca textual no prontuário, com trecho destacado")
+public record RecordSearchResultDto(
+    @Schema(description = "ID do registro", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID id,
+
+    @Schema(description = "ID do paciente", example = "123e4567-e89b-12d3-a456-426614174001")
+    UUID patientId,
+
+    @Schema(description = "Nome do paciente", example = "Maria Silva")
+    String patientFullName,
+
+    @Schema(description = "Título do registro", example = "Consulta de retorno")
+    String title,
+
+    @Schema(description = "Data do atendimento (ISO-8601)", example = "2024-05-20T13:00:00Z")
+    Instant recordDate,
+
+    @Schema(description = "Código CID-10", example = "L81.1")
+    String cid10Code,
+
+    @Schema(description = "Relevância do registro para a busca (maior é mais relevante)", example = "0.6079")
+    double rank,
+
+    @Schema(description = "Trechos do registro em HTML escapado, com os termos encontrados entre <mark> e </mark>",
+        example = "Avaliação: <mark>melasma</mark> em regressão")
+    String snippet
+) {}
@@ -0,0 +1,27 @@
+package com.mediapp.api.dto.record;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Cabeçalho de registro do prontuário usado na linha do tempo (sem as seções de texto)")
+public record RecordSummaryDto(
+    @Schema(description = "ID do registro", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID id,
+
+    @Schema(description = "Título do registro", example = "Consulta de retorno")
+    String title,
+
+    @Schema(description = "Data do atendimento (ISO-8601)", example = "2024-05-20T13:00:00Z")
+    Instant recordDate,
+
+    @Schema(description = "Código CID-10", example = "L81.1")
+    String cid10Code,
+
+    @Schema(description = "ID do autor", example = "123e4567-e89b-12d3-a456-426614174001")
+    UUID authorId,
+
+    @Schema(description = "Nome do autor", example = "Dra. Ana Souza")
+    String authorName
+) {}
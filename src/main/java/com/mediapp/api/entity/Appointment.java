@@ -0,0 +1,74 @@
+package com.mediapp.api.entity;
+
+import com.mediapp.api.converter.AppointmentStatusConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidade JPA mapeada para a tabela appointments.
+ * Uma consulta pertence a um Workspace e liga um paciente ao profissional (User) que o atende.
+ * As referências são mantidas como IDs: a agenda é lida por JDBC e serializada sem carregar as entidades.
+ */
+@Entity
+@Table(name = "appointments")
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class Appointment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "workspace_id", nullable = false)
+    private UUID workspaceId;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "start_time", nullable = false)
+    private Instant startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private Instant endTime;
+
+    @Convert(converter = AppointmentStatusConverter.class)
+    @Column(name = "status", nullable = false, columnDefinition = "appointment_status")
+    private AppointmentStatus status = AppointmentStatus.SCHEDULED;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "record_id")
+    private UUID recordId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.status == null) {
+            this.status = AppointmentStatus.SCHEDULED;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,16 @@
+package com.mediapp.api.entity;
+
+/**
+ * Enum correspondente ao tipo appointment_status do PostgreSQL.
+ * Usado na entidade Appointment. CANCELED e NO_SHOW não ocupam o horário do profissional.
+ */
+public enum AppointmentStatus {
+    SCHEDULED,
+    CONFIRMED,
+    ARRIVED,
+    WAITING,
+    IN_PROGRESS,
+    COMPLETED,
+    CANCELED,
+    NO_SHOW
+}
@@ -0,0 +1,87 @@
+package com.mediapp.api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidade JPA mapeada para a tabela records (prontuário no formato SOAP).
+ * Um registro pertence a um Patient e tem um User como autor; as referências são mantidas como IDs e o
+ * workspace vem do paciente. As seções de texto só são carregadas no detalhe do registro.
+ */
+@Entity
+@Table(name = "records")
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class MedicalRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Column(name = "author_id")
+    private UUID authorId;
+
+    @Column(name = "title", nullable = false, length = 255)
+    private String title;
+
+    @Column(name = "subjective", columnDefinition = "TEXT")
+    private String subjective;
+
+    @Column(name = "objective", columnDefinition = "TEXT")
+    private String objective;
+
+    @Column(name = "assessment", columnDefinition = "TEXT")
+    private String assessment;
+
+    @Column(name = "plan", columnDefinition = "TEXT")
+    private String plan;
+
+    @Column(name = "chief_complaint", columnDefinition = "TEXT")
+    private String chiefComplaint;
+
+    @Column(name = "history_of_present_illness", columnDefinition = "TEXT")
+    private String historyOfPresentIllness;
+
+    @Column(name = "dermatological_exam", columnDefinition = "TEXT")
+    private String dermatologicalExam;
+
+    @Column(name = "diagnostic_hypothesis", length = 255)
+    private String diagnosticHypothesis;
+
+    @Column(name = "cid10_code", length = 10)
+    private String cid10Code;
+
+    @Column(name = "record_date", nullable = false)
+    private Instant recordDate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.recordDate == null) {
+            this.recordDate = now;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = Instant.now();
+    }
+}
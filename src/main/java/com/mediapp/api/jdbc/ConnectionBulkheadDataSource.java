@@ -0,0 +1,95 @@
+package com.mediapp.api.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita as conexões em uso a um número fixo de permissões (o tamanho do pool do Hikari).
+ * <p>
+ * Com threads virtuais o número de requisições simultâneas deixa de ser limitado pelo Tomcat, e milhares de
+ * threads disputariam o pool ao mesmo tempo, estourando o connection-timeout do Hikari. Aqui elas aguardam
+ * numa fila justa (FIFO) antes de pedir a conexão, e a permissão é devolvida no close() da conexão.
+ * Publica "jdbc.bulkhead.waiting" e "jdbc.bulkhead.available".
+ */
+public class ConnectionBulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public ConnectionBulkheadDataSource(DataSource targetDataSource, int permits, Duration acquireTimeout,
+                                        MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        Gauge.builder("jdbc.bulkhead.waiting", this.permits, Semaphore::getQueueLength)
+            .description("Threads aguardando permissão para obter conexão")
+            .register(meterRegistry);
+        Gauge.builder("jdbc.bulkhead.available", this.permits, Semaphore::availablePermits)
+            .description("Permissões de conexão disponíveis")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Tempo esgotado aguardando conexão com o banco ("
+                    + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + "ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco", e);
+        }
+    }
+
+    private Connection releaseOnClose(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionBulkheadDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                } finally {
+                    // A conexão volta ao pool mesmo que o close() falhe: a permissão é devolvida em ambos os casos
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            });
+    }
+}
@@ -0,0 +1,249 @@
+package com.mediapp.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DataSource que mede cada comando SQL executado pelas conexões que entrega, inclusive as obtidas
+ * diretamente com dataSource.getConnection() nos serviços.
+ * <p>
+ * Publica "jdbc.statement" (tempo de execução, tags statement e outcome) e "jdbc.statement.rows"
+ * (linhas lidas ou afetadas). A tag statement é derivada do SQL como "verbo tabela" (ex.: "update patients",
+ * "select patients"), mantendo a cardinalidade baixa mesmo com os vários formatos de UPDATE dinâmico.
+ * A espera e o uso das conexões continuam medidos pelo próprio Hikari (hikaricp.connections.*).
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    // Limite de SQLs distintos com medidores em cache; além disso, o nome é recalculado a cada execução
+    private static final int MAX_CACHED_STATEMENTS = 1_000;
+
+    private static final Pattern WRITE = Pattern.compile(
+        "\\b(insert\\s+into|update|delete\\s+from)\\s+\"?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern READ = Pattern.compile("\\bfrom\\s+\"?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FIRST_WORD = Pattern.compile("^\\s*(\\w+)");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StatementMeters> metersBySql = new ConcurrentHashMap<>();
+    private final Map<String, StatementMeters> metersByName = new ConcurrentHashMap<>();
+
+    public InstrumentedDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    /**
+     * Nome do comando para a tag statement: o primeiro INSERT/UPDATE/DELETE (também dentro de CTEs),
+     * senão a primeira tabela após FROM, senão a primeira palavra do SQL.
+     */
+    static String statementName(String sql) {
+        if (sql == null) {
+            return "unknown";
+        }
+        Matcher write = WRITE.matcher(sql);
+        if (write.find()) {
+            String verb = write.group(1).split("\\s+")[0];
+            return (verb + " " + write.group(2)).toLowerCase(Locale.ROOT);
+        }
+        Matcher read = READ.matcher(sql);
+        if (read.find()) {
+            return "select " + read.group(1).toLowerCase(Locale.ROOT);
+        }
+        Matcher first = FIRST_WORD.matcher(sql);
+        return first.find() ? first.group(1).toLowerCase(Locale.ROOT) : "unknown";
+    }
+
+    private StatementMeters metersFor(String sql) {
+        if (sql == null) {
+            return metersByName.computeIfAbsent("unknown", StatementMeters::new);
+        }
+        StatementMeters meters = metersBySql.get(sql);
+        if (meters == null) {
+            meters = metersByName.computeIfAbsent(statementName(sql), StatementMeters::new);
+            if (metersBySql.size() < MAX_CACHED_STATEMENTS) {
+                metersBySql.put(sql, meters);
+            }
+        }
+        return meters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class StatementMeters {
+
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary rows;
+
+        StatementMeters(String name) {
+            this.success = Timer.builder("jdbc.statement")
+                .description("Tempo de execução dos comandos SQL")
+                .tags("statement", name, "outcome", "success")
+                .register(meterRegistry);
+            this.error = Timer.builder("jdbc.statement")
+                .description("Tempo de execução dos comandos SQL")
+                .tags("statement", name, "outcome", "error")
+                .register(meterRegistry);
+            this.rows = DistributionSummary.builder("jdbc.statement.rows")
+                .description("Linhas lidas ou afetadas por comando SQL")
+                .tag("statement", name)
+                .register(meterRegistry);
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" ->
+                    wrap(PreparedStatement.class, new StatementHandler((Statement) result, metersFor((String) args[0])));
+                case "prepareCall" ->
+                    wrap(CallableStatement.class, new StatementHandler((Statement) result, metersFor((String) args[0])));
+                case "createStatement" -> wrap(Statement.class, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        // Nulo para Statement simples: o SQL só é conhecido em execute(sql)
+        private final StatementMeters preparedMeters;
+
+        StatementHandler(Statement target, StatementMeters preparedMeters) {
+            this.target = target;
+            this.preparedMeters = preparedMeters;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) invokeTarget(target, method, args);
+                return resultSet != null ? countRows(resultSet, meters(args)) : null;
+            }
+            if (!name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            StatementMeters meters = meters(args);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (Throwable e) {
+                meters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            meters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet, meters);
+            }
+            if (result instanceof Integer count && count >= 0) {
+                meters.rows.record(count);
+            } else if (result instanceof Long count && count >= 0) {
+                meters.rows.record(count);
+            } else if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) total += Math.max(0, count);
+                meters.rows.record(total);
+            } else if (result instanceof long[] counts) {
+                long total = 0;
+                for (long count : counts) total += Math.max(0, count);
+                meters.rows.record(total);
+            }
+            return result;
+        }
+
+        private StatementMeters meters(Object[] args) {
+            if (preparedMeters != null) {
+                return preparedMeters;
+            }
+            return metersFor(args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+        }
+
+        private ResultSet countRows(ResultSet resultSet, StatementMeters meters) {
+            return wrap(ResultSet.class, new ResultSetHandler(resultSet, meters));
+        }
+    }
+
+    /**
+     * Conta as linhas percorridas e as registra ao fechar o ResultSet (inclusive em leituras em streaming
+     * com fetch size, como a exportação de pacientes).
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final StatementMeters meters;
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet target, StatementMeters meters) {
+            this.target = target;
+            this.meters = meters;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            String name = method.getName();
+            if (name.equals("next")) {
+                if ((Boolean) result) rows++;
+            } else if (name.equals("close") && !recorded) {
+                recorded = true;
+                meters.rows.record(rows);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.mediapp.api.repository;
+
+import com.mediapp.api.entity.Appointment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
+
+    Optional<Appointment> findByIdAndWorkspaceId(UUID id, UUID workspaceId);
+}
@@ -0,0 +1,9 @@
+package com.mediapp.api.repository;
+
+import com.mediapp.api.entity.MedicalRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, UUID> {
+}
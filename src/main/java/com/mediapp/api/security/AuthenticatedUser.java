@@ -0,0 +1,43 @@
+package com.mediapp.api.security;
+
+import com.mediapp.api.entity.User;
+import com.mediapp.api.entity.UserRole;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Principal leve do usuário autenticado, guardado no SecurityContext.
+ * Contém apenas o necessário para autorização e isolamento por workspace; pode ser montado
+ * a partir da entidade User (modo padrão) ou diretamente dos claims do JWT (modo stateless).
+ */
+public record AuthenticatedUser(
+    UUID id,
+    String email,
+    UUID workspaceId,
+    UserRole role
+) implements Principal {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+            user.getId(),
+            user.getEmail(),
+            user.getWorkspace() != null ? user.getWorkspace().getId() : null,
+            user.getRole()
+        );
+    }
+
+    public static AuthenticatedUser from(JwtClaims claims) {
+        return new AuthenticatedUser(
+            claims.userId(),
+            claims.email(),
+            claims.workspaceId(),
+            claims.role() != null ? claims.role() : UserRole.MEMBER
+        );
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,11 +1,11 @@
 package com.mediapp.api.security;
 
-import com.mediapp.api.entity.User;
 import com.mediapp.api.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,10 +22,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository, PrincipalCache principalCache,
+                                   TokenRevocationList tokenRevocationList,
+                                   @Value("${security.stateless-principal.enabled:false}") boolean statelessPrincipal) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -39,25 +47,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
+        Optional<JwtClaims> claims = jwtUtil.verify(token);
 
-        if (!jwtUtil.validateToken(token)) {
+        if (claims.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
 
         try {
-            UUID userId = jwtUtil.extractUserId(token);
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<AuthenticatedUser> principalOpt = resolvePrincipal(claims.get());
 
-            if (userOpt.isEmpty()) {
+            if (principalOpt.isEmpty()) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            User user = userOpt.get();
-            var authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
+            AuthenticatedUser principal = principalOpt.get();
+            var authority = new SimpleGrantedAuthority("ROLE_" + principal.role().name());
             var auth = new UsernamePasswordAuthenticationToken(
-                user,
+                principal,
                 null,
                 Collections.singletonList(authority)
             );
@@ -68,5 +76,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
 
+    private Optional<AuthenticatedUser> resolvePrincipal(JwtClaims claims) {
+        // Modo stateless: o principal vem direto dos claims, exceto quando o usuário teve os dados revogados
+        if (statelessPrincipal && !tokenRevocationList.isRevoked(claims)) {
+            return Optional.of(AuthenticatedUser.from(claims));
+        }
+
+        UUID userId = claims.userId();
+        return principalCache.get(userId, id -> userRepository.findById(id).map(AuthenticatedUser::from));
+    }
+}
@@ -0,0 +1,19 @@
+package com.mediapp.api.security;
+
+import com.mediapp.api.entity.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims de um token JWT já verificado.
+ * workspaceId e role podem ser nulos em tokens emitidos para usuários sem workspace.
+ */
+public record JwtClaims(
+    UUID userId,
+    String email,
+    UUID workspaceId,
+    UserRole role,
+    Instant issuedAt,
+    Instant expiresAt
+) {}
@@ -1,58 +1,150 @@
 package com.mediapp.api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.mediapp.api.entity.User;
+import com.mediapp.api.entity.UserRole;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    private static final long DEFAULT_VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
     private final SecretKey secretKey;
     private final long expirationMs;
+    private final JwtParser parser;
+
+    // Tokens já verificados, indexados pelo SHA-256 do token e mantidos no máximo até a sua expiração
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    public JwtUtil(SecretKey secretKey, long expirationMs) {
+        this(secretKey, expirationMs, DEFAULT_VERIFIED_TOKEN_CACHE_SIZE);
+    }
 
-    public JwtUtil(SecretKey secretKey, @Value("${jwt.expiration}") long expirationMs) {
+    @Autowired
+    public JwtUtil(SecretKey secretKey,
+                   @Value("${jwt.expiration}") long expirationMs,
+                   @Value("${jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize) {
         this.secretKey = secretKey;
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheSize)
+            .expireAfter(new Expiry<String, JwtClaims>() {
+                @Override
+                public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
     }
 
+    @Timed(value = "security.jwt", extraTags = { "operation", "generate" })
     public String generateToken(User user) {
         String workspaceId = user.getWorkspace() != null
             ? user.getWorkspace().getId().toString()
             : null;
 
+        long now = System.currentTimeMillis();
         return Jwts.builder()
             .subject(user.getId().toString())
             .claim("email", user.getEmail())
             .claim("workspaceId", workspaceId)
             .claim("role", user.getRole().name())
-            .expiration(new Date(System.currentTimeMillis() + expirationMs))
+            .issuedAt(new Date(now))
+            .expiration(new Date(now + expirationMs))
             .signWith(secretKey)
             .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifica a assinatura e a expiração do token em uma única passada e retorna os claims.
+     * Tokens repetidos são atendidos pelo cache de tokens verificados, sem refazer o HMAC.
+     */
+    @Timed(value = "security.jwt", extraTags = { "operation", "verify" })
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.expiresAt().isAfter(Instant.now()) ? Optional.of(cached) : Optional.empty();
+        }
+
         try {
-            Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
-            return true;
+            JwtClaims claims = toJwtClaims(parser.parseSignedClaims(token).getPayload());
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
     public UUID extractUserId(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-        return UUID.fromString(claims.getSubject());
+        return verify(token)
+            .map(JwtClaims::userId)
+            .orElseThrow(() -> new JwtException("Token JWT inválido ou expirado."));
     }
-}
 
+    private JwtClaims toJwtClaims(Claims claims) {
+        String workspaceId = claims.get("workspaceId", String.class);
+        String role = claims.get("role", String.class);
+        Instant expiresAt = claims.getExpiration() != null
+            ? claims.getExpiration().toInstant()
+            : Instant.now().plusMillis(expirationMs);
+
+        return new JwtClaims(
+            UUID.fromString(claims.getSubject()),
+            claims.get("email", String.class),
+            workspaceId != null ? UUID.fromString(workspaceId) : null,
+            role != null ? UserRole.valueOf(role) : null,
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            expiresAt
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mediapp.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mediapp.api.entity.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache limitado dos dados de login (id, hash da senha, papel e workspace), indexado pelo e-mail normalizado.
+ * <p>
+ * E-mails inexistentes também são cacheados, com TTL curto, para que tentativas em massa com endereços
+ * desconhecidos não cheguem ao PostgreSQL. Deve ser invalidado sempre que a senha ou o e-mail de um usuário
+ * mudar, e no registro (remove uma eventual entrada negativa). Estatísticas saem em "cache.*" com tag
+ * cache=login-lookup.
+ */
+@Component
+public class LoginLookupCache {
+
+    private final Cache<String, Optional<LoginAccount>> cache;
+
+    public LoginLookupCache(@Value("${security.login-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${security.login-cache.ttl:5m}") Duration ttl,
+                            @Value("${security.login-cache.negative-ttl:30s}") Duration negativeTtl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new Expiry<String, Optional<LoginAccount>>() {
+                @Override
+                public long expireAfterCreate(String email, Optional<LoginAccount> account, long currentTime) {
+                    return (account.isPresent() ? ttl : negativeTtl).toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String email, Optional<LoginAccount> account, long currentTime,
+                                              long currentDuration) {
+                    return expireAfterCreate(email, account, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String email, Optional<LoginAccount> account, long currentTime,
+                                            long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "login-lookup");
+    }
+
+    public static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Retorna a conta em cache ou a carrega com o loader informado; o resultado vazio também é cacheado.
+     * O e-mail já deve estar normalizado.
+     */
+    public Optional<LoginAccount> get(String email, Function<String, Optional<LoginAccount>> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(normalize(email));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public record LoginAccount(UUID userId, String email, String passwordHash, UserRole role, UUID workspaceId) {}
+}
@@ -0,0 +1,59 @@
+package com.mediapp.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache limitado (tamanho + TTL) dos principals autenticados, indexado pelo id do usuário.
+ * Evita uma ida ao banco por requisição no JwtAuthenticationFilter.
+ * Estatísticas de hit/miss/eviction são publicadas como métricas "cache.*" com tag cache=principals.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<UUID, AuthenticatedUser> cache;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    public PrincipalCache(@Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                          MeterRegistry meterRegistry,
+                          TokenRevocationList tokenRevocationList) {
+        this.tokenRevocationList = tokenRevocationList;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Retorna o usuário em cache ou o carrega com o loader informado. Usuários inexistentes não são cacheados.
+     */
+    public Optional<AuthenticatedUser> get(UUID userId, Function<UUID, Optional<AuthenticatedUser>> loader) {
+        return Optional.ofNullable(cache.get(userId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /**
+     * Deve ser chamado sempre que o papel ou o workspace de um usuário mudar.
+     * Também revoga os claims dos tokens já emitidos, usados no modo stateless.
+     */
+    public void invalidate(UUID userId) {
+        cache.invalidate(userId);
+        tokenRevocationList.revoke(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
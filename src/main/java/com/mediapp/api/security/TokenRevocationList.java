@@ -0,0 +1,42 @@
+package com.mediapp.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Lista de revogação de curta duração usada no modo stateless.
+ * Guarda, por usuário, o instante a partir do qual os claims dos tokens passam a ser confiáveis;
+ * tokens emitidos antes disso têm os dados do usuário recarregados do banco.
+ * As entradas expiram junto com o tempo de vida dos tokens, quando já não há token antigo válido.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Cache<UUID, Instant> revokedBefore;
+
+    public TokenRevocationList(@Value("${jwt.expiration}") long expirationMs) {
+        this.revokedBefore = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(expirationMs))
+            .build();
+    }
+
+    public void revoke(UUID userId) {
+        // iat tem precisão de segundos: tokens emitidos no mesmo segundo da revogação continuam válidos
+        revokedBefore.put(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        Instant revokedAt = revokedBefore.getIfPresent(claims.userId());
+        if (revokedAt == null) {
+            return false;
+        }
+        return claims.issuedAt() == null || claims.issuedAt().isBefore(revokedAt);
+    }
+}
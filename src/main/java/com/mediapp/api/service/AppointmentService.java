@@ -0,0 +1,394 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.dto.appointment.AgendaItemDto;
+import com.mediapp.api.dto.appointment.AgendaView;
+import com.mediapp.api.dto.appointment.CreateAppointmentDto;
+import com.mediapp.api.dto.appointment.UpdateAppointmentDto;
+import com.mediapp.api.entity.Appointment;
+import com.mediapp.api.entity.AppointmentStatus;
+import com.mediapp.api.exception.BadRequestException;
+import com.mediapp.api.exception.ConflictException;
+import com.mediapp.api.exception.NotFoundException;
+import com.mediapp.api.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Agenda de consultas. A sobreposição de horários de um mesmo profissional é impedida pela constraint de
+ * exclusão appointments_user_time_no_overlap (GiST sobre user_id e tstzrange(start_time, end_time)), e não
+ * por uma consulta prévia: dois agendamentos simultâneos para o mesmo horário resultam em um 201 e um 409.
+ * <p>
+ * A duração de uma consulta é limitada a {@link #MAX_DURATION} (appointments_time_range_check), o que permite
+ * buscar por intervalo com um range scan em start_time nos índices (workspace_id, start_time) e
+ * (workspace_id, user_id, start_time).
+ */
+@Service
+@Timed("mediapp.service")
+public class AppointmentService {
+
+    public static final Duration MAX_DURATION = Duration.ofHours(12);
+    public static final Duration MAX_RANGE = Duration.ofDays(31);
+    private static final String CHECK_VIOLATION = "23514";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String TIME_RANGE_CHECK = "appointments_time_range_check";
+    private static final String NO_OVERLAP_CONSTRAINT = "appointments_user_time_no_overlap";
+
+    private static final String COLUMNS = "a.id, a.workspace_id, a.patient_id, a.user_id, a.start_time, a.end_time, " +
+        "a.status, a.notes, a.record_id, a.created_at, a.updated_at";
+    private static final String RETURNING = " RETURNING id, workspace_id, patient_id, user_id, start_time, end_time, " +
+        "status, notes, record_id, created_at, updated_at";
+
+    private final DataSource dataSource;
+    private final AvailabilityCache availabilityCache;
+    private final ZoneId zone;
+
+    public AppointmentService(DataSource dataSource, AvailabilityCache availabilityCache,
+                              @Value("${appointments.availability.zone:America/Sao_Paulo}") ZoneId zone) {
+        this.dataSource = dataSource;
+        this.availabilityCache = availabilityCache;
+        this.zone = zone;
+    }
+
+    /**
+     * Agenda a consulta em um único comando: paciente (ativo) e profissional precisam pertencer ao workspace
+     * do usuário, e o conflito de horário é detectado pela constraint de exclusão.
+     */
+    public Appointment create(CreateAppointmentDto dto, AuthenticatedUser user) {
+        validateInterval(dto.startTime(), dto.endTime());
+        UUID doctorId = dto.userId() != null ? dto.userId() : user.id();
+        Timestamp now = Timestamp.from(Instant.now());
+
+        String sql = "INSERT INTO appointments (id, workspace_id, patient_id, user_id, start_time, end_time, status, " +
+            "notes, created_at, updated_at) " +
+            "SELECT CAST(? AS uuid), p.workspace_id, p.id, u.id, ?, ?, 'SCHEDULED', ?, ?, ? " +
+            "FROM patients p JOIN users u ON u.id = CAST(? AS uuid) AND u.workspace_id = p.workspace_id " +
+            "WHERE p.id = CAST(? AS uuid) AND p.workspace_id = CAST(? AS uuid) AND p.is_active = true" +
+            RETURNING;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, UUID.randomUUID().toString());
+            stmt.setTimestamp(2, Timestamp.from(dto.startTime()));
+            stmt.setTimestamp(3, Timestamp.from(dto.endTime()));
+            stmt.setString(4, dto.notes());
+            stmt.setTimestamp(5, now);
+            stmt.setTimestamp(6, now);
+            stmt.setString(7, doctorId.toString());
+            stmt.setString(8, dto.patientId().toString());
+            stmt.setString(9, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Appointment appointment = mapRow(rs);
+                    invalidateAvailability(appointment, appointment.getStartTime(), appointment.getEndTime());
+                    return appointment;
+                }
+            }
+        } catch (SQLException e) {
+            throw translate(e, "Erro ao agendar consulta: ");
+        }
+
+        throw new NotFoundException("Paciente ou profissional não encontrado neste consultório.");
+    }
+
+    /**
+     * Consultas do workspace (opcionalmente de um profissional) que se sobrepõem a [from, to), em ordem de
+     * início. Como nenhuma consulta dura mais que MAX_DURATION, basta varrer start_time em
+     * [from - MAX_DURATION, to) no índice e descartar as que terminam antes de from.
+     */
+    public List<Appointment> findRange(AuthenticatedUser user, Instant from, Instant to, UUID doctorId) {
+        validateRange(from, to);
+
+        String sql = "SELECT " + COLUMNS + " FROM appointments a " +
+            "WHERE a.workspace_id = CAST(? AS uuid)" +
+            (doctorId != null ? " AND a.user_id = CAST(? AS uuid)" : "") +
+            " AND a.start_time >= ? AND a.start_time < ? AND a.end_time > ? " +
+            "ORDER BY a.start_time ASC, a.id ASC";
+
+        List<Appointment> appointments = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int paramIndex = 1;
+            stmt.setString(paramIndex++, user.workspaceId().toString());
+            if (doctorId != null) {
+                stmt.setString(paramIndex++, doctorId.toString());
+            }
+            stmt.setTimestamp(paramIndex++, Timestamp.from(from.minus(MAX_DURATION)));
+            stmt.setTimestamp(paramIndex++, Timestamp.from(to));
+            stmt.setTimestamp(paramIndex, Timestamp.from(from));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    appointments.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao listar consultas: " + e.getMessage(), e);
+        }
+        return appointments;
+    }
+
+    /**
+     * Versão da agenda (quantidade de consultas e maiores updated_at da consulta e do paciente) com os mesmos
+     * filtros de {@link #agenda}. É uma agregação sem transferir linhas, usada para o ETag: se nada mudou, a
+     * agenda não é carregada.
+     */
+    public AgendaVersion agendaVersion(AuthenticatedUser user, LocalDate date, AgendaView view, UUID doctorId,
+                                       List<AppointmentStatus> statuses) {
+        String sql = "SELECT count(*), max(a.updated_at), max(p.updated_at) " +
+            "FROM appointments a JOIN patients p ON p.id = a.patient_id " + agendaWhere(doctorId, statuses);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bindAgenda(stmt, user, date, view, doctorId, statuses);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                Timestamp appointmentsUpdatedAt = rs.getTimestamp(2);
+                Timestamp patientsUpdatedAt = rs.getTimestamp(3);
+                return new AgendaVersion(rs.getLong(1),
+                    appointmentsUpdatedAt != null ? appointmentsUpdatedAt.toInstant() : null,
+                    patientsUpdatedAt != null ? patientsUpdatedAt.toInstant() : null);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao consultar agenda: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Agenda do dia (padrão: hoje) ou da semana (no fuso da agenda) em uma única consulta: as consultas já vêm com nome e
+     * telefone do paciente e nome do profissional, em ordem de início, sem uma busca por paciente.
+     */
+    public List<AgendaItemDto> agenda(AuthenticatedUser user, LocalDate date, AgendaView view, UUID doctorId,
+                                      List<AppointmentStatus> statuses) {
+        String sql = "SELECT a.id, a.start_time, a.end_time, a.status, a.notes, a.patient_id, " +
+            "p.full_name AS patient_full_name, p.contact_phone AS patient_contact_phone, " +
+            "a.user_id, u.full_name AS user_full_name " +
+            "FROM appointments a JOIN patients p ON p.id = a.patient_id JOIN users u ON u.id = a.user_id " +
+            agendaWhere(doctorId, statuses) +
+            " ORDER BY a.start_time ASC, a.id ASC";
+
+        List<AgendaItemDto> items = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bindAgenda(stmt, user, date, view, doctorId, statuses);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(new AgendaItemDto(
+                        UUID.fromString(rs.getString("id")),
+                        rs.getTimestamp("start_time").toInstant(),
+                        rs.getTimestamp("end_time").toInstant(),
+                        AppointmentStatus.valueOf(rs.getString("status")),
+                        rs.getString("notes"),
+                        UUID.fromString(rs.getString("patient_id")),
+                        rs.getString("patient_full_name"),
+                        rs.getString("patient_contact_phone"),
+                        UUID.fromString(rs.getString("user_id")),
+                        rs.getString("user_full_name")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao carregar agenda: " + e.getMessage(), e);
+        }
+        return items;
+    }
+
+    private static String agendaWhere(UUID doctorId, List<AppointmentStatus> statuses) {
+        StringBuilder where = new StringBuilder("WHERE a.workspace_id = CAST(? AS uuid)");
+        if (doctorId != null) {
+            where.append(" AND a.user_id = CAST(? AS uuid)");
+        }
+        where.append(" AND a.start_time >= ? AND a.start_time < ? AND a.end_time > ?");
+        if (statuses != null && !statuses.isEmpty()) {
+            where.append(" AND a.status IN (");
+            for (int i = 0; i < statuses.size(); i++) {
+                where.append(i == 0 ? "" : ", ").append("CAST(? AS appointment_status)");
+            }
+            where.append(")");
+        }
+        return where.toString();
+    }
+
+    private void bindAgenda(PreparedStatement stmt, AuthenticatedUser user, LocalDate date, AgendaView view,
+                            UUID doctorId, List<AppointmentStatus> statuses) throws SQLException {
+        LocalDate day = date != null ? date : LocalDate.now(zone);
+        LocalDate first = view == AgendaView.WEEK ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+        Instant from = first.atStartOfDay(zone).toInstant();
+        Instant to = first.plusDays(view == AgendaView.WEEK ? 7 : 1).atStartOfDay(zone).toInstant();
+
+        int paramIndex = 1;
+        stmt.setString(paramIndex++, user.workspaceId().toString());
+        if (doctorId != null) {
+            stmt.setString(paramIndex++, doctorId.toString());
+        }
+        stmt.setTimestamp(paramIndex++, Timestamp.from(from.minus(MAX_DURATION)));
+        stmt.setTimestamp(paramIndex++, Timestamp.from(to));
+        stmt.setTimestamp(paramIndex++, Timestamp.from(from));
+        if (statuses != null) {
+            for (AppointmentStatus status : statuses) {
+                stmt.setString(paramIndex++, status.name());
+            }
+        }
+    }
+
+    public Appointment findOne(UUID id, AuthenticatedUser user) {
+        String sql = "SELECT " + COLUMNS + " FROM appointments a " +
+            "WHERE a.id = CAST(? AS uuid) AND a.workspace_id = CAST(? AS uuid)";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, id.toString());
+            stmt.setString(2, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar consulta: " + e.getMessage(), e);
+        }
+
+        throw new NotFoundException("Consulta não encontrada.");
+    }
+
+    /**
+     * Remarca, muda o status ou as observações em um único UPDATE restrito ao workspace; campos ausentes
+     * mantêm o valor atual. Reativar ou remarcar para um horário ocupado resulta em 409. O horário anterior
+     * volta no RETURNING para invalidar a disponibilidade dos dias afetados.
+     */
+    public Appointment update(UUID id, UpdateAppointmentDto dto, AuthenticatedUser user) {
+        if (dto.startTime() != null && dto.endTime() != null) {
+            validateInterval(dto.startTime(), dto.endTime());
+        }
+
+        String sql = "UPDATE appointments a SET " +
+            "start_time = COALESCE(CAST(? AS timestamptz), a.start_time), " +
+            "end_time = COALESCE(CAST(? AS timestamptz), a.end_time), " +
+            "status = COALESCE(CAST(? AS appointment_status), a.status), " +
+            "notes = COALESCE(?, a.notes), " +
+            "updated_at = ? " +
+            "FROM (SELECT id, start_time, end_time FROM appointments " +
+            "WHERE id = CAST(? AS uuid) AND workspace_id = CAST(? AS uuid) FOR UPDATE) previous " +
+            "WHERE a.id = previous.id " +
+            "RETURNING " + COLUMNS + ", previous.start_time AS previous_start_time, previous.end_time AS previous_end_time";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, dto.startTime() != null ? Timestamp.from(dto.startTime()) : null);
+            stmt.setTimestamp(2, dto.endTime() != null ? Timestamp.from(dto.endTime()) : null);
+            stmt.setString(3, dto.status() != null ? dto.status().name() : null);
+            stmt.setString(4, dto.notes());
+            stmt.setTimestamp(5, Timestamp.from(Instant.now()));
+            stmt.setString(6, id.toString());
+            stmt.setString(7, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Appointment appointment = mapRow(rs);
+                    invalidateAvailability(appointment, rs.getTimestamp("previous_start_time").toInstant(),
+                        rs.getTimestamp("previous_end_time").toInstant());
+                    invalidateAvailability(appointment, appointment.getStartTime(), appointment.getEndTime());
+                    return appointment;
+                }
+            }
+        } catch (SQLException e) {
+            throw translate(e, "Erro ao atualizar consulta: ");
+        }
+
+        throw new NotFoundException("Consulta não encontrada.");
+    }
+
+    public void remove(UUID id, AuthenticatedUser user) {
+        String sql = "DELETE FROM appointments a WHERE a.id = CAST(? AS uuid) AND a.workspace_id = CAST(? AS uuid)" +
+            " RETURNING " + COLUMNS;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, id.toString());
+            stmt.setString(2, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Appointment appointment = mapRow(rs);
+                    invalidateAvailability(appointment, appointment.getStartTime(), appointment.getEndTime());
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao remover consulta: " + e.getMessage(), e);
+        }
+
+        throw new NotFoundException("Consulta não encontrada.");
+    }
+
+    private void invalidateAvailability(Appointment appointment, Instant startTime, Instant endTime) {
+        availabilityCache.invalidate(appointment.getWorkspaceId(), appointment.getUserId(), startTime, endTime);
+    }
+
+    static void validateInterval(Instant startTime, Instant endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new BadRequestException("O horário de término deve ser posterior ao de início.");
+        }
+        if (Duration.between(startTime, endTime).compareTo(MAX_DURATION) > 0) {
+            throw new BadRequestException("A consulta deve durar no máximo " + MAX_DURATION.toHours() + " horas.");
+        }
+    }
+
+    static void validateRange(Instant from, Instant to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new BadRequestException("Informe um intervalo válido: 'to' deve ser posterior a 'from'.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new BadRequestException("O intervalo deve ter no máximo " + MAX_RANGE.toDays() + " dias.");
+        }
+    }
+
+    static boolean isOverlapConflict(SQLException e) {
+        return EXCLUSION_VIOLATION.equals(e.getSQLState())
+            && e.getMessage() != null
+            && e.getMessage().contains(NO_OVERLAP_CONSTRAINT);
+    }
+
+    private static RuntimeException translate(SQLException e, String messagePrefix) {
+        if (isOverlapConflict(e)) {
+            return new ConflictException("Horário indisponível: o profissional já tem uma consulta neste intervalo.");
+        }
+        if (CHECK_VIOLATION.equals(e.getSQLState()) && e.getMessage() != null
+            && e.getMessage().contains(TIME_RANGE_CHECK)) {
+            return new BadRequestException("O horário de término deve ser posterior ao de início e a consulta deve "
+                + "durar no máximo " + MAX_DURATION.toHours() + " horas.");
+        }
+        return new RuntimeException(messagePrefix + e.getMessage(), e);
+    }
+
+    public record AgendaVersion(long count, Instant lastUpdatedAt, Instant lastPatientUpdatedAt) {}
+
+    private static Appointment mapRow(ResultSet rs) throws SQLException {
+        Appointment appointment = new Appointment();
+        appointment.setId(UUID.fromString(rs.getString("id")));
+        appointment.setWorkspaceId(UUID.fromString(rs.getString("workspace_id")));
+        appointment.setPatientId(UUID.fromString(rs.getString("patient_id")));
+        appointment.setUserId(UUID.fromString(rs.getString("user_id")));
+        appointment.setStartTime(rs.getTimestamp("start_time").toInstant());
+        appointment.setEndTime(rs.getTimestamp("end_time").toInstant());
+        appointment.setStatus(AppointmentStatus.valueOf(rs.getString("status")));
+        appointment.setNotes(rs.getString("notes"));
+        String recordId = rs.getString("record_id");
+        appointment.setRecordId(recordId != null ? UUID.fromString(recordId) : null);
+        appointment.setCreatedAt(rs.getTimestamp("created_at").toInstant());
+        appointment.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
+        return appointment;
+    }
+}
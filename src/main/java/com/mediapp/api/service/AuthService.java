@@ -11,32 +11,49 @@ import com.mediapp.api.entity.User;
 import com.mediapp.api.entity.UserRole;
 import com.mediapp.api.entity.Workspace;
 import com.mediapp.api.exception.ConflictException;
+import com.mediapp.api.exception.NotFoundException;
 import com.mediapp.api.exception.UnauthorizedException;
 import com.mediapp.api.repository.UserRepository;
 import com.mediapp.api.repository.WorkspaceRepository;
+import com.mediapp.api.security.AuthenticatedUser;
 import com.mediapp.api.security.JwtUtil;
+import com.mediapp.api.security.LoginLookupCache;
+import com.mediapp.api.security.LoginLookupCache.LoginAccount;
+import com.mediapp.api.security.PrincipalCache;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Timed("mediapp.service")
 public class AuthService {
 
+    private static final Set<String> EMAIL_UNIQUE_CONSTRAINTS = Set.of("users_email_key", "users_email_lower_key");
+    private static final String DOCUMENT_NUMBER_UNIQUE_CONSTRAINT = "workspaces_document_type_document_number_key";
+    private static final int MAX_REGISTER_ATTEMPTS = 3;
+
     private final UserRepository userRepository;
     private final WorkspaceRepository workspaceRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final LoginLookupCache loginLookupCache;
+    private final ProfileCache profileCache;
     
     @Autowired
     private JdbcTemplate jdbcTemplate;
@@ -48,158 +65,64 @@ public class AuthService {
     private EntityManager entityManager;
 
     public AuthService(UserRepository userRepository, WorkspaceRepository workspaceRepository,
-                       PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+                       PasswordHashingService passwordHashingService, JwtUtil jwtUtil, PrincipalCache principalCache,
+                       LoginLookupCache loginLookupCache, ProfileCache profileCache) {
         this.userRepository = userRepository;
         this.workspaceRepository = workspaceRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.loginLookupCache = loginLookupCache;
+        this.profileCache = profileCache;
     }
 
-    @Transactional
+    /**
+     * Cria usuário e workspace em um único comando (CTE com RETURNING): as chaves estrangeiras mútuas
+     * são verificadas ao final do comando, e o e-mail duplicado (inclusive só por maiúsculas/minúsculas, via
+     * índice único em lower(email)) é detectado pela constraint única, sem consulta prévia. Se o número de documento provisório do workspace colidir com o de outro cadastro
+     * simultâneo, o comando é repetido com um novo número. O hash da senha é calculado (no executor de hashing) antes de pegar a conexão do pool.
+     */
     public AuthResponseDTO register(AuthRequestDTO dto) {
-        // Verificar se o email já existe usando query nativa para evitar problemas de tipo
-        String checkEmailSql = "SELECT COUNT(*) FROM users WHERE email = ?";
-        boolean emailExists = false;
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(checkEmailSql)) {
-            stmt.setString(1, dto.email());
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next() && rs.getInt(1) > 0) {
-                    emailExists = true;
-                }
-            }
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao verificar email: " + e.getMessage(), e);
-        }
-        
-        if (emailExists) {
-            throw new ConflictException("Este e-mail já está em uso.");
-        }
+        String passwordHash = passwordHashingService.hash(dto.password());
+        String email = LoginLookupCache.normalize(dto.email());
 
-        String passwordHash = passwordEncoder.encode(dto.password());
-        String documentNumber = "REG" + System.currentTimeMillis() + String.format("%02d", new Random().nextInt(100));
-
-        // Criar usuário usando DataSource diretamente para controle total
         UUID userId = UUID.randomUUID();
-        java.time.Instant now = java.time.Instant.now();
-        java.sql.Timestamp nowTimestamp = java.sql.Timestamp.from(now);
-        
-        String insertUserSql = "INSERT INTO users (id, workspace_id, full_name, email, password_hash, crm, role, digital_signature_url, password_reset_token, password_reset_expires, created_at, updated_at) " +
-            "VALUES (CAST(? AS uuid), NULL, ?, ?, ?, NULL, CAST(? AS users_role_enum), NULL, NULL, NULL, ?, ?)";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(insertUserSql)) {
-            stmt.setString(1, userId.toString());
-            stmt.setString(2, dto.fullName());
-            stmt.setString(3, dto.email());
-            stmt.setString(4, passwordHash);
-            stmt.setString(5, "ADMIN");
-            stmt.setTimestamp(6, nowTimestamp);
-            stmt.setTimestamp(7, nowTimestamp);
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new RuntimeException("Nenhuma linha foi inserida na tabela users");
-            }
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao criar usuário: " + e.getMessage(), e);
-        }
-        
-        // Buscar o usuário recém-criado usando query nativa para evitar problemas de tipo do Hibernate
-        String selectUserSql = "SELECT id, workspace_id, full_name, email, password_hash, crm, role, digital_signature_url, password_reset_token, password_reset_expires, created_at, updated_at FROM users WHERE email = ?";
+        UUID workspaceId = UUID.randomUUID();
+        java.sql.Timestamp nowTimestamp = java.sql.Timestamp.from(java.time.Instant.now());
+
+        String registerSql = "WITH new_user AS (" +
+            "INSERT INTO users (id, workspace_id, full_name, email, password_hash, role, created_at, updated_at) " +
+            "VALUES (CAST(? AS uuid), CAST(? AS uuid), ?, ?, ?, CAST(? AS users_role_enum), ?, ?) " +
+            "RETURNING id, full_name, email, role, created_at, updated_at" +
+            "), new_workspace AS (" +
+            "INSERT INTO workspaces (id, name, document_type, document_number, owner_id, created_at, updated_at) " +
+            "SELECT CAST(? AS uuid), ?, CAST(? AS workspaces_document_type_enum), ?, id, ?, ? FROM new_user " +
+            "RETURNING id, name, document_type, document_number, created_at, updated_at" +
+            ") " +
+            "SELECT u.id, u.full_name, u.email, u.role, u.created_at, u.updated_at, " +
+            "w.id as workspace_id_col, w.name as workspace_name, w.document_type, w.document_number, " +
+            "w.created_at as workspace_created_at, w.updated_at as workspace_updated_at " +
+            "FROM new_user u CROSS JOIN new_workspace w";
+
         User user = null;
-        try (Connection conn2 = dataSource.getConnection();
-             PreparedStatement stmt = conn2.prepareStatement(selectUserSql)) {
-            stmt.setString(1, dto.email());
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    user = new User();
-                    user.setId(UUID.fromString(rs.getString("id")));
-                    user.setFullName(rs.getString("full_name"));
-                    user.setEmail(rs.getString("email"));
-                    user.setPasswordHash(rs.getString("password_hash"));
-                    user.setCrm(rs.getString("crm"));
-                    String roleStr = rs.getString("role");
-                    user.setRole(roleStr != null ? UserRole.valueOf(roleStr) : UserRole.MEMBER);
-                    user.setDigitalSignatureUrl(rs.getString("digital_signature_url"));
-                    user.setPasswordResetToken(rs.getString("password_reset_token"));
-                    if (rs.getTimestamp("password_reset_expires") != null) {
-                        user.setPasswordResetExpires(rs.getTimestamp("password_reset_expires").toInstant());
-                    }
-                    user.setCreatedAt(rs.getTimestamp("created_at").toInstant());
-                    user.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
+        for (int attempt = 1; user == null; attempt++) {
+            String documentNumber = "REG" + System.currentTimeMillis() + String.format("%02d", new Random().nextInt(100));
+            try {
+                user = jdbcTemplate.queryForObject(registerSql, (rs, rowNum) -> mapRegisteredUser(rs),
+                    userId.toString(), workspaceId.toString(), dto.fullName(), email, passwordHash, "ADMIN",
+                    nowTimestamp, nowTimestamp,
+                    workspaceId.toString(), dto.workspaceName(), "CPF", documentNumber, nowTimestamp, nowTimestamp);
+            } catch (DuplicateKeyException e) {
+                if (!isDocumentNumberCollision(e) || attempt == MAX_REGISTER_ATTEMPTS) {
+                    throw new RuntimeException("Erro ao registrar usuário: " + e.getMessage(), e);
                 }
             }
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao buscar usuário: " + e.getMessage(), e);
-        }
-        
-        if (user == null) {
-            throw new RuntimeException("Erro ao buscar usuário recém-criado");
         }
 
-        // Criar workspace usando DataSource diretamente
-        UUID workspaceId = UUID.randomUUID();
-        String insertWorkspaceSql = "INSERT INTO workspaces (id, name, document_type, document_number, owner_id, created_at, updated_at) " +
-            "VALUES (CAST(? AS uuid), ?, CAST(? AS workspaces_document_type_enum), ?, CAST(? AS uuid), ?, ?)";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(insertWorkspaceSql)) {
-            stmt.setString(1, workspaceId.toString());
-            stmt.setString(2, dto.workspaceName());
-            stmt.setString(3, "CPF");
-            stmt.setString(4, documentNumber);
-            stmt.setString(5, user.getId().toString());
-            stmt.setTimestamp(6, nowTimestamp);
-            stmt.setTimestamp(7, nowTimestamp);
-            stmt.executeUpdate();
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao criar workspace: " + e.getMessage(), e);
-        }
-        
-        // Buscar o workspace recém-criado usando query nativa para evitar problemas de tipo do Hibernate
-        String selectWorkspaceSql = "SELECT id, name, document_type, document_number, owner_id, created_at, updated_at FROM workspaces WHERE id = CAST(? AS uuid)";
-        Workspace workspace = null;
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(selectWorkspaceSql)) {
-            stmt.setString(1, workspaceId.toString());
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    workspace = new Workspace();
-                    workspace.setId(UUID.fromString(rs.getString("id")));
-                    workspace.setName(rs.getString("name"));
-                    String documentTypeStr = rs.getString("document_type");
-                    workspace.setDocumentType(documentTypeStr != null ? DocumentType.valueOf(documentTypeStr) : DocumentType.CPF);
-                    workspace.setDocumentNumber(rs.getString("document_number"));
-                    // owner será setado depois, não precisamos buscar aqui
-                    workspace.setCreatedAt(rs.getTimestamp("created_at").toInstant());
-                    workspace.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
-                }
-            }
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao buscar workspace: " + e.getMessage(), e);
-        }
-        
-        if (workspace == null) {
-            throw new RuntimeException("Erro ao buscar workspace recém-criado");
-        }
-        
-        // Atualizar o usuário com workspace_id usando query nativa
-        String updateUserSql = "UPDATE users SET workspace_id = CAST(? AS uuid), updated_at = ? WHERE id = CAST(? AS uuid)";
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(updateUserSql)) {
-            stmt.setString(1, workspaceId.toString());
-            stmt.setTimestamp(2, java.sql.Timestamp.from(java.time.Instant.now()));
-            stmt.setString(3, user.getId().toString());
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new RuntimeException("Nenhuma linha foi atualizada na tabela users");
-            }
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao atualizar usuário: " + e.getMessage(), e);
-        }
-        
-        // Atualizar o objeto user localmente para retornar
-        user.setWorkspace(workspace);
+        Workspace workspace = user.getWorkspace();
+        principalCache.invalidate(user.getId());
+        profileCache.invalidate(user.getId());
+        loginLookupCache.invalidate(email);
 
         WorkspaceDto workspaceDto = new WorkspaceDto(
             workspace.getId(),
@@ -225,117 +148,168 @@ public class AuthService {
         );
     }
 
-    public LoginResponseDto login(LoginDto dto) {
-        // Buscar usuário e workspace usando query nativa para evitar problemas de tipo do Hibernate
-        String selectUserWithWorkspaceSql = "SELECT u.id, u.workspace_id, u.full_name, u.email, u.password_hash, u.crm, u.role, " +
-            "u.digital_signature_url, u.password_reset_token, u.password_reset_expires, u.created_at, u.updated_at, " +
-            "w.id as workspace_id_col, w.name as workspace_name, w.document_type, w.document_number, w.owner_id, " +
-            "w.created_at as workspace_created_at, w.updated_at as workspace_updated_at " +
-            "FROM users u LEFT JOIN workspaces w ON u.workspace_id = w.id WHERE u.email = ?";
-        
-        User user = null;
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(selectUserWithWorkspaceSql)) {
-            stmt.setString(1, dto.email());
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    user = new User();
-                    user.setId(UUID.fromString(rs.getString("id")));
-                    user.setFullName(rs.getString("full_name"));
-                    user.setEmail(rs.getString("email"));
-                    user.setPasswordHash(rs.getString("password_hash"));
-                    user.setCrm(rs.getString("crm"));
-                    String roleStr = rs.getString("role");
-                    user.setRole(roleStr != null ? UserRole.valueOf(roleStr) : UserRole.MEMBER);
-                    user.setDigitalSignatureUrl(rs.getString("digital_signature_url"));
-                    user.setPasswordResetToken(rs.getString("password_reset_token"));
-                    if (rs.getTimestamp("password_reset_expires") != null) {
-                        user.setPasswordResetExpires(rs.getTimestamp("password_reset_expires").toInstant());
-                    }
-                    user.setCreatedAt(rs.getTimestamp("created_at").toInstant());
-                    user.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
-                    
-                    // Carregar workspace se existir
-                    String workspaceIdStr = rs.getString("workspace_id_col");
-                    if (workspaceIdStr != null) {
-                        Workspace workspace = new Workspace();
-                        workspace.setId(UUID.fromString(workspaceIdStr));
-                        workspace.setName(rs.getString("workspace_name"));
-                        String documentTypeStr = rs.getString("document_type");
-                        workspace.setDocumentType(documentTypeStr != null ? DocumentType.valueOf(documentTypeStr) : DocumentType.CPF);
-                        workspace.setDocumentNumber(rs.getString("document_number"));
-                        workspace.setCreatedAt(rs.getTimestamp("workspace_created_at").toInstant());
-                        workspace.setUpdatedAt(rs.getTimestamp("workspace_updated_at").toInstant());
-                        user.setWorkspace(workspace);
-                    }
-                }
-            }
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao buscar usuário: " + e.getMessage(), e);
+    /**
+     * Classifica a violação de unicidade do cadastro pela constraint informada pelo PostgreSQL: e-mail em uso
+     * vira ConflictException; retorna true quando a colisão foi no número de documento provisório do workspace.
+     */
+    static boolean isDocumentNumberCollision(DuplicateKeyException e) {
+        String constraint = violatedConstraint(e);
+        if (EMAIL_UNIQUE_CONSTRAINTS.contains(constraint)) {
+            throw new ConflictException("Este e-mail já está em uso.");
+        }
+        return DOCUMENT_NUMBER_UNIQUE_CONSTRAINT.equals(constraint);
+    }
+
+    private static String violatedConstraint(DuplicateKeyException e) {
+        if (e.getMostSpecificCause() instanceof PSQLException psqlException) {
+            ServerErrorMessage serverError = psqlException.getServerErrorMessage();
+            return serverError != null ? serverError.getConstraint() : null;
         }
-        
-        if (user == null) {
+        return null;
+    }
+
+    private User mapRegisteredUser(ResultSet rs) throws java.sql.SQLException {
+        Workspace workspace = new Workspace();
+        workspace.setId(UUID.fromString(rs.getString("workspace_id_col")));
+        workspace.setName(rs.getString("workspace_name"));
+        String documentTypeStr = rs.getString("document_type");
+        workspace.setDocumentType(documentTypeStr != null ? DocumentType.valueOf(documentTypeStr) : DocumentType.CPF);
+        workspace.setDocumentNumber(rs.getString("document_number"));
+        workspace.setCreatedAt(rs.getTimestamp("workspace_created_at").toInstant());
+        workspace.setUpdatedAt(rs.getTimestamp("workspace_updated_at").toInstant());
+
+        User user = new User();
+        user.setId(UUID.fromString(rs.getString("id")));
+        user.setFullName(rs.getString("full_name"));
+        user.setEmail(rs.getString("email"));
+        String roleStr = rs.getString("role");
+        user.setRole(roleStr != null ? UserRole.valueOf(roleStr) : UserRole.MEMBER);
+        user.setCreatedAt(rs.getTimestamp("created_at").toInstant());
+        user.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
+        user.setWorkspace(workspace);
+        return user;
+    }
+
+    /**
+     * Autentica pelo e-mail normalizado. Os dados de login vêm do LoginLookupCache (inclusive e-mails
+     * inexistentes, cacheados por pouco tempo); para e-mail desconhecido a senha é comparada com um hash
+     * fictício, para que a resposta leve o mesmo tempo de uma senha errada.
+     */
+    public LoginResponseDto login(LoginDto dto) {
+        String email = LoginLookupCache.normalize(dto.email());
+        LoginAccount account = loginLookupCache.get(email, this::loadLoginAccount).orElse(null);
+
+        if (account == null) {
+            passwordHashingService.matchesDummy(dto.password());
             throw new UnauthorizedException("Credenciais inválidas.");
         }
 
-        if (!passwordEncoder.matches(dto.password(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(dto.password(), account.passwordHash())) {
             throw new UnauthorizedException("Credenciais inválidas.");
         }
 
+        // Custo do BCrypt alterado na configuração: atualiza o hash em segundo plano, só se ninguém o trocou antes
+        String currentHash = account.passwordHash();
+        passwordHashingService.rehashIfNeeded(dto.password(), currentHash, newHash -> {
+            jdbcTemplate.update("UPDATE users SET password_hash = ? WHERE id = CAST(? AS uuid) AND password_hash = ?",
+                newHash, account.userId().toString(), currentHash);
+            loginLookupCache.invalidate(email);
+        });
+
+        User user = new User();
+        user.setId(account.userId());
+        user.setEmail(account.email());
+        user.setRole(account.role());
+        if (account.workspaceId() != null) {
+            Workspace workspace = new Workspace();
+            workspace.setId(account.workspaceId());
+            user.setWorkspace(workspace);
+        }
+
         String token = jwtUtil.generateToken(user);
         return new LoginResponseDto(token);
     }
-    
-    public ProfileDto getProfile(User user) {
-        // Sempre buscar workspace usando query nativa para evitar problemas de lazy loading
-        Workspace workspace = null;
-        if (user.getId() != null) {
-            String selectWorkspaceSql = "SELECT w.id, w.name, w.document_type, w.document_number, w.owner_id, w.created_at, w.updated_at " +
-                "FROM workspaces w INNER JOIN users u ON w.id = u.workspace_id WHERE u.id = CAST(? AS uuid)";
-            try (Connection conn = dataSource.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(selectWorkspaceSql)) {
-                stmt.setString(1, user.getId().toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        workspace = new Workspace();
-                        workspace.setId(UUID.fromString(rs.getString("id")));
-                        workspace.setName(rs.getString("name"));
-                        String documentTypeStr = rs.getString("document_type");
-                        workspace.setDocumentType(documentTypeStr != null ? DocumentType.valueOf(documentTypeStr) : DocumentType.CPF);
-                        workspace.setDocumentNumber(rs.getString("document_number"));
-                        workspace.setCreatedAt(rs.getTimestamp("created_at").toInstant());
-                        workspace.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
-                    }
+
+    private Optional<LoginAccount> loadLoginAccount(String email) {
+        // lower(email) é único (users_email_lower_key), inclusive para contas anteriores à normalização
+        String sql = "SELECT id, email, password_hash, role, workspace_id FROM users WHERE lower(email) = ?";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
                 }
-            } catch (java.sql.SQLException e) {
-                throw new RuntimeException("Erro ao buscar workspace: " + e.getMessage(), e);
+                String roleStr = rs.getString("role");
+                String workspaceIdStr = rs.getString("workspace_id");
+                return Optional.of(new LoginAccount(
+                    UUID.fromString(rs.getString("id")),
+                    rs.getString("email"),
+                    rs.getString("password_hash"),
+                    roleStr != null ? UserRole.valueOf(roleStr) : UserRole.MEMBER,
+                    workspaceIdStr != null ? UUID.fromString(workspaceIdStr) : null
+                ));
             }
+        } catch (java.sql.SQLException e) {
+            throw new RuntimeException("Erro ao buscar usuário: " + e.getMessage(), e);
         }
-        
-        WorkspaceDto workspaceDto = null;
-        if (workspace != null) {
-            workspaceDto = new WorkspaceDto(
-                workspace.getId(),
-                workspace.getName(),
-                workspace.getDocumentType(),
-                workspace.getDocumentNumber(),
-                user.getId(),
-                workspace.getCreatedAt(),
-                workspace.getUpdatedAt()
-            );
+    }
+    
+    /**
+     * Perfil do usuário autenticado, servido pelo ProfileCache; no cache vazio, usuário e workspace vêm
+     * de uma única consulta (o principal carrega apenas id, workspace e papel).
+     */
+    public ProfileDto getProfile(AuthenticatedUser principal) {
+        return profileCache.get(principal.id(), this::loadProfile);
+    }
+
+    private ProfileDto loadProfile(UUID id) {
+        String selectProfileSql = "SELECT u.id, u.full_name, u.email, u.role, u.crm, u.digital_signature_url, u.created_at, u.updated_at, " +
+            "w.id as workspace_id_col, w.name as workspace_name, w.document_type, w.document_number, " +
+            "w.created_at as workspace_created_at, w.updated_at as workspace_updated_at " +
+            "FROM users u LEFT JOIN workspaces w ON u.workspace_id = w.id WHERE u.id = CAST(? AS uuid)";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(selectProfileSql)) {
+            stmt.setString(1, id.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new NotFoundException("Usuário não encontrado.");
+                }
+
+                UUID userId = UUID.fromString(rs.getString("id"));
+                WorkspaceDto workspaceDto = null;
+                String workspaceIdStr = rs.getString("workspace_id_col");
+                if (workspaceIdStr != null) {
+                    String documentTypeStr = rs.getString("document_type");
+                    workspaceDto = new WorkspaceDto(
+                        UUID.fromString(workspaceIdStr),
+                        rs.getString("workspace_name"),
+                        documentTypeStr != null ? DocumentType.valueOf(documentTypeStr) : DocumentType.CPF,
+                        rs.getString("document_number"),
+                        userId,
+                        rs.getTimestamp("workspace_created_at").toInstant(),
+                        rs.getTimestamp("workspace_updated_at").toInstant()
+                    );
+                }
+
+                String roleStr = rs.getString("role");
+                return new ProfileDto(
+                    userId,
+                    rs.getString("full_name"),
+                    rs.getString("email"),
+                    roleStr != null ? UserRole.valueOf(roleStr) : UserRole.MEMBER,
+                    rs.getString("crm"),
+                    rs.getString("digital_signature_url"),
+                    workspaceDto,
+                    rs.getTimestamp("created_at").toInstant(),
+                    rs.getTimestamp("updated_at").toInstant()
+                );
+            }
+        } catch (java.sql.SQLException e) {
+            throw new RuntimeException("Erro ao buscar perfil: " + e.getMessage(), e);
         }
-        
-        return new ProfileDto(
-            user.getId(),
-            user.getFullName(),
-            user.getEmail(),
-            user.getRole(),
-            user.getCrm(),
-            user.getDigitalSignatureUrl(),
-            workspaceDto,
-            user.getCreatedAt(),
-            user.getUpdatedAt()
-        );
     }
 }
 
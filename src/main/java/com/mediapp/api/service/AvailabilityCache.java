@@ -0,0 +1,118 @@
+package com.mediapp.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Cache limitado (tamanho + TTL) dos intervalos livres de cada profissional por dia, no fuso da agenda.
+ * <p>
+ * Os dias ausentes são carregados juntos, numa única consulta, pelo loader. Toda alteração de consulta deve
+ * chamar {@link #invalidate} com o intervalo afetado. Cada profissional (workspace + usuário) tem uma versão,
+ * incrementada antes da invalidação: um carregamento só é armazenado se a versão do profissional não mudou, e
+ * é removido logo após o put se ela mudar nesse meio tempo, para que o resultado anterior à alteração não
+ * volte ao cache. As versões ficam em um array fixo indexado pelo hash do profissional; colisões apenas
+ * descartam carregamentos a mais. Estatísticas saem em "cache.*" com tag cache=availability.
+ */
+@Component
+public class AvailabilityCache {
+
+    private final Cache<DayKey, List<AvailabilityCalculator.Interval>> cache;
+    private final ZoneId zone;
+    private static final int VERSION_STRIPES = 1024;
+
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public AvailabilityCache(@Value("${appointments.availability.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${appointments.availability.cache.ttl:10m}") Duration ttl,
+                             @Value("${appointments.availability.zone:America/Sao_Paulo}") ZoneId zone,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.zone = zone;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "availability");
+    }
+
+    /**
+     * Retorna os intervalos livres de todos os dias pedidos; os ausentes são carregados de uma vez pelo loader,
+     * que recebe apenas as chaves que faltam.
+     */
+    Map<DayKey, List<AvailabilityCalculator.Interval>> getAll(
+            Set<DayKey> keys, Function<Set<DayKey>, Map<DayKey, List<AvailabilityCalculator.Interval>>> loader) {
+        Map<DayKey, List<AvailabilityCalculator.Interval>> result = new HashMap<>(cache.getAllPresent(keys));
+        if (result.size() == keys.size()) {
+            return result;
+        }
+
+        Set<DayKey> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(result.keySet());
+        Map<Integer, Long> stripeVersions = new HashMap<>();
+        for (DayKey key : missing) {
+            stripeVersions.computeIfAbsent(stripe(key), versions::get);
+        }
+        Map<DayKey, List<AvailabilityCalculator.Interval>> loaded = loader.apply(missing);
+
+        Map<DayKey, List<AvailabilityCalculator.Interval>> unchanged = new HashMap<>(loaded.size());
+        loaded.forEach((key, free) -> {
+            if (isCurrent(key, stripeVersions)) {
+                unchanged.put(key, free);
+            }
+        });
+        cache.putAll(unchanged);
+        // Uma invalidação entre a verificação e o put não pode deixar o resultado antigo no cache
+        for (DayKey key : unchanged.keySet()) {
+            if (!isCurrent(key, stripeVersions)) {
+                cache.invalidate(key);
+            }
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    /** Invalida os dias (no fuso da agenda) tocados pelo intervalo [start, end) do profissional. */
+    public void invalidate(UUID workspaceId, UUID userId, Instant start, Instant end) {
+        versions.incrementAndGet(stripe(workspaceId, userId));
+        LocalDate last = end.minusNanos(1).atZone(zone).toLocalDate();
+        for (LocalDate date = start.atZone(zone).toLocalDate(); !date.isAfter(last); date = date.plusDays(1)) {
+            cache.invalidate(new DayKey(workspaceId, userId, date));
+        }
+    }
+
+    private boolean isCurrent(DayKey key, Map<Integer, Long> stripeVersions) {
+        int stripe = stripe(key);
+        return versions.get(stripe) == stripeVersions.get(stripe);
+    }
+
+    private static int stripe(DayKey key) {
+        return stripe(key.workspaceId(), key.userId());
+    }
+
+    static int stripe(UUID workspaceId, UUID userId) {
+        return Math.floorMod(31 * workspaceId.hashCode() + userId.hashCode(), VERSION_STRIPES);
+    }
+
+    ZoneId zone() {
+        return zone;
+    }
+
+    record DayKey(UUID workspaceId, UUID userId, LocalDate date) {}
+}
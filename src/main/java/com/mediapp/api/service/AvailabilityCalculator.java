@@ -0,0 +1,148 @@
+package com.mediapp.api.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Cálculo dos horários livres de um profissional: intervalos de atendimento do dia menos os intervalos
+ * ocupados, por varredura linear (sweep line) sobre os ocupados já ordenados e mesclados.
+ */
+final class AvailabilityCalculator {
+
+    private AvailabilityCalculator() {}
+
+    /** Intervalo semiaberto [start, end). */
+    record Interval(Instant start, Instant end) {}
+
+    /** Período de atendimento no horário local, ex.: 08:00-12:00. */
+    record Period(LocalTime start, LocalTime end) {}
+
+    /**
+     * Intervalos livres dentro dos intervalos de atendimento (ordenados e disjuntos). Os ocupados podem vir em
+     * qualquer ordem e se sobrepor; custo O(n log n) pela ordenação e O(n + m) na varredura.
+     */
+    static List<Interval> freeIntervals(List<Interval> working, List<Interval> busy) {
+        List<Interval> merged = merge(busy);
+        List<Interval> free = new ArrayList<>();
+        int next = 0;
+        for (Interval period : working) {
+            Instant cursor = period.start();
+            // Ocupados que terminam antes do período não afetam este nem os próximos
+            while (next < merged.size() && !merged.get(next).end().isAfter(cursor)) {
+                next++;
+            }
+            for (int i = next; i < merged.size() && merged.get(i).start().isBefore(period.end()); i++) {
+                Interval occupied = merged.get(i);
+                if (occupied.start().isAfter(cursor)) {
+                    free.add(new Interval(cursor, occupied.start()));
+                }
+                if (occupied.end().isAfter(cursor)) {
+                    cursor = occupied.end();
+                }
+                if (!cursor.isBefore(period.end())) {
+                    break;
+                }
+            }
+            if (cursor.isBefore(period.end())) {
+                free.add(new Interval(cursor, period.end()));
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Divide os intervalos livres em horários consecutivos de duração fixa a partir do início de cada intervalo,
+     * ignorando os que começam antes de notBefore, até o limite informado.
+     */
+    static List<Interval> slots(List<Interval> free, Duration slot, Instant notBefore, int limit) {
+        List<Interval> slots = new ArrayList<>();
+        for (Interval interval : free) {
+            for (Instant start = interval.start(); !start.plus(slot).isAfter(interval.end()); start = start.plus(slot)) {
+                if (slots.size() >= limit) {
+                    return slots;
+                }
+                if (!start.isBefore(notBefore)) {
+                    slots.add(new Interval(start, start.plus(slot)));
+                }
+            }
+        }
+        return slots;
+    }
+
+    /** Intervalos de atendimento de um dia no fuso informado; vazio se o dia da semana não é de atendimento. */
+    static List<Interval> workingIntervals(LocalDate date, ZoneId zone, Set<DayOfWeek> weekdays, List<Period> periods) {
+        if (!weekdays.contains(date.getDayOfWeek())) {
+            return List.of();
+        }
+        List<Interval> intervals = new ArrayList<>(periods.size());
+        for (Period period : periods) {
+            intervals.add(new Interval(date.atTime(period.start()).atZone(zone).toInstant(),
+                date.atTime(period.end()).atZone(zone).toInstant()));
+        }
+        return intervals;
+    }
+
+    /** Ex.: "MONDAY,TUESDAY,WEDNESDAY". */
+    static Set<DayOfWeek> parseWeekdays(String value) {
+        Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : value.split(",")) {
+            if (!day.isBlank()) {
+                weekdays.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return weekdays;
+    }
+
+    /** Ex.: "08:00-12:00,13:00-18:00"; os períodos são ordenados e não podem se sobrepor. */
+    static List<Period> parsePeriods(String value) {
+        List<Period> periods = new ArrayList<>();
+        for (String range : value.split(",")) {
+            if (range.isBlank()) {
+                continue;
+            }
+            String[] bounds = range.trim().split("-");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Período de atendimento inválido: " + range);
+            }
+            Period period = new Period(LocalTime.parse(bounds[0].trim()), LocalTime.parse(bounds[1].trim()));
+            if (!period.end().isAfter(period.start())) {
+                throw new IllegalArgumentException("Período de atendimento inválido: " + range);
+            }
+            periods.add(period);
+        }
+        periods.sort(Comparator.comparing(Period::start));
+        for (int i = 1; i < periods.size(); i++) {
+            if (periods.get(i).start().isBefore(periods.get(i - 1).end())) {
+                throw new IllegalArgumentException("Períodos de atendimento sobrepostos: " + value);
+            }
+        }
+        return periods;
+    }
+
+    private static List<Interval> merge(List<Interval> intervals) {
+        List<Interval> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparing(Interval::start));
+        List<Interval> merged = new ArrayList<>(sorted.size());
+        for (Interval interval : sorted) {
+            int last = merged.size() - 1;
+            if (last >= 0 && !interval.start().isAfter(merged.get(last).end())) {
+                if (interval.end().isAfter(merged.get(last).end())) {
+                    merged.set(last, new Interval(merged.get(last).start(), interval.end()));
+                }
+            } else {
+                merged.add(interval);
+            }
+        }
+        return merged;
+    }
+}
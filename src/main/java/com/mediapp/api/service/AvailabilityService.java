@@ -0,0 +1,163 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.dto.appointment.FreeSlotDto;
+import com.mediapp.api.exception.BadRequestException;
+import com.mediapp.api.exception.NotFoundException;
+import com.mediapp.api.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Horários livres da agenda de um profissional.
+ * <p>
+ * Os intervalos livres de cada dia vêm do {@link AvailabilityCache}; os dias ausentes são carregados com uma
+ * única consulta por intervalo em (workspace_id, user_id, start_time) e combinados em memória com o horário de
+ * atendimento (appointments.availability.*). Consultas CANCELED e NO_SHOW não ocupam horário.
+ */
+@Service
+@Timed("mediapp.service")
+public class AvailabilityService {
+
+    public static final int MAX_DAYS = 31;
+    public static final int MAX_SLOTS = 200;
+    private static final Duration MIN_SLOT = Duration.ofMinutes(5);
+
+    private final DataSource dataSource;
+    private final AvailabilityCache cache;
+    private final ZoneId zone;
+    private final Set<DayOfWeek> weekdays;
+    private final List<AvailabilityCalculator.Period> periods;
+
+    public AvailabilityService(DataSource dataSource, AvailabilityCache cache,
+                               @Value("${appointments.availability.weekdays:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") String weekdays,
+                               @Value("${appointments.availability.working-hours:08:00-12:00,13:00-18:00}") String workingHours) {
+        this.dataSource = dataSource;
+        this.cache = cache;
+        this.zone = cache.zone();
+        this.weekdays = AvailabilityCalculator.parseWeekdays(weekdays);
+        this.periods = AvailabilityCalculator.parsePeriods(workingHours);
+    }
+
+    /**
+     * Próximos horários livres do profissional (padrão: o usuário autenticado) a partir do dia informado
+     * (padrão: hoje), em ordem cronológica. Horários que já começaram não são retornados.
+     */
+    public List<FreeSlotDto> findFreeSlots(AuthenticatedUser user, UUID doctorId, LocalDate from, int days,
+                                           int slotMinutes, int limit) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadRequestException("O número de dias deve estar entre 1 e " + MAX_DAYS + ".");
+        }
+        Duration slot = Duration.ofMinutes(slotMinutes);
+        if (slot.compareTo(MIN_SLOT) < 0 || slot.compareTo(AppointmentService.MAX_DURATION) > 0) {
+            throw new BadRequestException("A duração do horário deve estar entre " + MIN_SLOT.toMinutes() + " minutos e "
+                + AppointmentService.MAX_DURATION.toHours() + " horas.");
+        }
+        int maxSlots = Math.max(1, Math.min(limit, MAX_SLOTS));
+        UUID userId = doctorId != null ? doctorId : user.id();
+        LocalDate firstDay = from != null ? from : LocalDate.now(zone);
+
+        Set<AvailabilityCache.DayKey> keys = new LinkedHashSet<>();
+        for (int i = 0; i < days; i++) {
+            keys.add(new AvailabilityCache.DayKey(user.workspaceId(), userId, firstDay.plusDays(i)));
+        }
+        Map<AvailabilityCache.DayKey, List<AvailabilityCalculator.Interval>> freeByDay = cache.getAll(keys, this::loadDays);
+
+        Instant now = Instant.now();
+        List<FreeSlotDto> slots = new ArrayList<>(maxSlots);
+        for (AvailabilityCache.DayKey key : keys) {
+            for (AvailabilityCalculator.Interval interval :
+                    AvailabilityCalculator.slots(freeByDay.get(key), slot, now, maxSlots - slots.size())) {
+                slots.add(new FreeSlotDto(interval.start(), interval.end()));
+            }
+            if (slots.size() >= maxSlots) {
+                break;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Carrega os dias pedidos (mesmo workspace e profissional) com uma consulta que cobre do primeiro ao último
+     * dia. O LEFT JOIN a partir de users também valida que o profissional pertence ao workspace.
+     */
+    private Map<AvailabilityCache.DayKey, List<AvailabilityCalculator.Interval>> loadDays(Set<AvailabilityCache.DayKey> keys) {
+        AvailabilityCache.DayKey sample = keys.iterator().next();
+        LocalDate firstDay = Collections.min(keys, Comparator.comparing(AvailabilityCache.DayKey::date)).date();
+        LocalDate lastDay = Collections.max(keys, Comparator.comparing(AvailabilityCache.DayKey::date)).date();
+        Instant windowStart = firstDay.atStartOfDay(zone).toInstant();
+        Instant windowEnd = lastDay.plusDays(1).atStartOfDay(zone).toInstant();
+
+        String sql = "SELECT u.id, a.start_time, a.end_time FROM users u " +
+            "LEFT JOIN appointments a ON a.workspace_id = u.workspace_id AND a.user_id = u.id " +
+            "AND a.status NOT IN ('CANCELED', 'NO_SHOW') " +
+            "AND a.start_time >= ? AND a.start_time < ? AND a.end_time > ? " +
+            "WHERE u.id = CAST(? AS uuid) AND u.workspace_id = CAST(? AS uuid) " +
+            "ORDER BY a.start_time";
+
+        boolean found = false;
+        List<AvailabilityCalculator.Interval> busy = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(windowStart.minus(AppointmentService.MAX_DURATION)));
+            stmt.setTimestamp(2, Timestamp.from(windowEnd));
+            stmt.setTimestamp(3, Timestamp.from(windowStart));
+            stmt.setString(4, sample.userId().toString());
+            stmt.setString(5, sample.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    found = true;
+                    Timestamp start = rs.getTimestamp("start_time");
+                    if (start != null) {
+                        busy.add(new AvailabilityCalculator.Interval(start.toInstant(), rs.getTimestamp("end_time").toInstant()));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao carregar agenda do profissional: " + e.getMessage(), e);
+        }
+
+        if (!found) {
+            throw new NotFoundException("Profissional não encontrado neste consultório.");
+        }
+
+        // Uma única varredura sobre os períodos de todos os dias; cada período (e seus livres) cabe em um dia
+        List<AvailabilityCache.DayKey> sortedKeys = new ArrayList<>(keys);
+        sortedKeys.sort(Comparator.comparing(AvailabilityCache.DayKey::date));
+        List<AvailabilityCalculator.Interval> working = new ArrayList<>();
+        for (AvailabilityCache.DayKey key : sortedKeys) {
+            working.addAll(AvailabilityCalculator.workingIntervals(key.date(), zone, weekdays, periods));
+        }
+        Map<LocalDate, List<AvailabilityCalculator.Interval>> freeByDate = new HashMap<>();
+        for (AvailabilityCalculator.Interval free : AvailabilityCalculator.freeIntervals(working, busy)) {
+            freeByDate.computeIfAbsent(free.start().atZone(zone).toLocalDate(), date -> new ArrayList<>()).add(free);
+        }
+
+        Map<AvailabilityCache.DayKey, List<AvailabilityCalculator.Interval>> loaded = new HashMap<>();
+        for (AvailabilityCache.DayKey key : sortedKeys) {
+            loaded.put(key, List.copyOf(freeByDate.getOrDefault(key.date(), List.of())));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,185 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hash e verificação de senhas (BCrypt) num executor próprio e limitado, isolando o custo de CPU de uma
+ * onda de logins do restante da API.
+ * <p>
+ * As requisições aguardam o resultado, mas quando a fila do executor está cheia falham na hora com
+ * ServiceUnavailableException (503 + Retry-After), em vez de acumular. O custo do BCrypt vem de
+ * security.password.bcrypt-strength; hashes com custo diferente são refeitos após um login bem-sucedido
+ * (ver {@link #rehashIfNeeded}). Métricas do executor saem em "executor.*" com tag name=password-hashing.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    // Hash fictício com o custo configurado, gerado no primeiro uso
+    private volatile String dummyHash;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password.bcrypt-strength:10}") int strength,
+                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password.hashing.max-wait:10s}") Duration maxWait,
+                                  @Value("${security.password.hashing.retry-after:2s}") Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+
+        // 0 = metade dos núcleos: sobra CPU para as demais requisições mesmo com o executor saturado
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "password-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+        this.rejected = Counter.builder("security.password.hashing.rejected")
+            .description("Hashes de senha recusados por fila cheia ou espera excedida")
+            .register(meterRegistry);
+    }
+
+    public String hash(CharSequence rawPassword) {
+        return await(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Compara a senha com um hash fictício do mesmo custo e descarta o resultado: usado quando o e-mail não
+     * existe, para que a resposta leve o mesmo tempo de uma senha errada.
+     */
+    public void matchesDummy(CharSequence rawPassword) {
+        await(() -> passwordEncoder.matches(rawPassword, dummyHash()));
+    }
+
+    /**
+     * Indica se o hash foi gerado com um custo diferente do configurado (para mais ou para menos).
+     */
+    public boolean needsRehash(String encodedPassword) {
+        int cost = bcryptCost(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    /**
+     * Se necessário, refaz o hash em segundo plano no próprio executor e entrega o novo valor ao callback.
+     * É uma melhoria oportunista: com a fila cheia, fica para o próximo login.
+     */
+    public void rehashIfNeeded(CharSequence rawPassword, String encodedPassword, Consumer<String> onRehashed) {
+        if (!needsRehash(encodedPassword)) {
+            return;
+        }
+        String password = rawPassword.toString();
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehashed.accept(passwordEncoder.encode(password));
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao atualizar o hash de senha: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Rehash de senha adiado: fila de hashing cheia");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    static int bcryptCost(String encodedPassword) {
+        // Formato $2a$10$<salt+hash>: o custo são os dois dígitos após o segundo '$'
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+            || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Erro ao processar senha: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException overloaded() {
+        return new ServiceUnavailableException(
+            "Serviço de autenticação sobrecarregado. Tente novamente em instantes.", retryAfter);
+    }
+}
@@ -0,0 +1,96 @@
+package com.mediapp.api.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Colunas graváveis da tabela patients, na ordem usada pelos templates de SQL.
+ * A posição (ordinal) de cada coluna define o seu bit no bitmask de campos presentes.
+ */
+public enum PatientColumn {
+    ID("id", FieldType.UUID),
+    WORKSPACE_ID("workspace_id", FieldType.UUID),
+    FULL_NAME("full_name", FieldType.STRING),
+    TAX_ID("tax_id", FieldType.STRING),
+    BIRTH_DATE("birth_date", FieldType.STRING),
+    CONTACT_PHONE("contact_phone", FieldType.STRING),
+    IS_ACTIVE("is_active", FieldType.BOOLEAN),
+    CREATED_AT("created_at", FieldType.TIMESTAMP),
+    UPDATED_AT("updated_at", FieldType.TIMESTAMP),
+    SEX("sex", FieldType.ENUM),
+    IDENTITY_DOCUMENT("identity_document", FieldType.STRING),
+    SECONDARY_CONTACT_PHONE("secondary_contact_phone", FieldType.STRING),
+    EMAIL("email", FieldType.STRING),
+    ZIP_CODE("zip_code", FieldType.STRING),
+    ADDRESS_STREET("address_street", FieldType.STRING),
+    ADDRESS_NUMBER("address_number", FieldType.STRING),
+    ADDRESS_COMPLEMENT("address_complement", FieldType.STRING),
+    ADDRESS_NEIGHBORHOOD("address_neighborhood", FieldType.STRING),
+    ADDRESS_CITY("address_city", FieldType.STRING),
+    ADDRESS_STATE("address_state", FieldType.STRING),
+    GUARDIAN_FULL_NAME("guardian_full_name", FieldType.STRING),
+    GUARDIAN_TAX_ID("guardian_tax_id", FieldType.STRING),
+    GUARDIAN_CONTACT_PHONE("guardian_contact_phone", FieldType.STRING),
+    HEALTH_INSURANCE("health_insurance", FieldType.STRING),
+    INSURANCE_CARD_NUMBER("insurance_card_number", FieldType.STRING),
+    ALLERGIES("allergies", FieldType.STRING),
+    FITZPATRICK_PHOTOTYPE("fitzpatrick_phototype", FieldType.INTEGER),
+    GENERAL_OBSERVATIONS("general_observations", FieldType.STRING);
+
+    static final PatientColumn[] ALL = values();
+    static final long ALL_MASK = (1L << ALL.length) - 1;
+
+    private final String columnName;
+    private final FieldType type;
+
+    PatientColumn(String columnName, FieldType type) {
+        this.columnName = columnName;
+        this.type = type;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    public String getPlaceholder() {
+        return switch (type) {
+            case UUID -> "CAST(? AS uuid)";
+            case ENUM -> "CAST(? AS patients_sex_enum)";
+            default -> "?";
+        };
+    }
+
+    public void setParameter(PreparedStatement stmt, int index, Object value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(index, type.sqlType);
+            return;
+        }
+        switch (type) {
+            case UUID, ENUM, STRING -> stmt.setString(index, value.toString());
+            case TIMESTAMP -> stmt.setTimestamp(index, (Timestamp) value);
+            case BOOLEAN -> stmt.setBoolean(index, (Boolean) value);
+            case INTEGER -> stmt.setInt(index, (Integer) value);
+        }
+    }
+
+    private enum FieldType {
+        UUID(Types.VARCHAR),
+        ENUM(Types.VARCHAR),
+        TIMESTAMP(Types.TIMESTAMP),
+        BOOLEAN(Types.BOOLEAN),
+        INTEGER(Types.INTEGER),
+        STRING(Types.VARCHAR);
+
+        private final int sqlType;
+
+        FieldType(int sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.mediapp.api.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Valores de uma escrita em patients, indexados por {@link PatientColumn}.
+ * Mantém o bitmask das colunas presentes (valores não nulos), usado como chave dos templates de SQL.
+ */
+public final class PatientColumnValues {
+
+    private final Object[] values = new Object[PatientColumn.ALL.length];
+    private long mask;
+
+    public PatientColumnValues set(PatientColumn column, Object value) {
+        if (value != null) {
+            values[column.ordinal()] = value;
+            mask |= column.bit();
+        }
+        return this;
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * Define os parâmetros das colunas do bitmask informado, na ordem das colunas, a partir de startIndex.
+     * Colunas do bitmask sem valor são enviadas como NULL. Retorna o próximo índice livre.
+     */
+    public int bind(PreparedStatement stmt, int startIndex, long columnMask) throws SQLException {
+        int index = startIndex;
+        for (PatientColumn column : PatientColumn.ALL) {
+            if ((columnMask & column.bit()) != 0) {
+                column.setParameter(stmt, index++, values[column.ordinal()]);
+            }
+        }
+        return index;
+    }
+}
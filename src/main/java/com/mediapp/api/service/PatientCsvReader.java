@@ -0,0 +1,113 @@
+package com.mediapp.api.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitor CSV (RFC 4180) para importação de pacientes. A primeira linha é o cabeçalho com os nomes
+ * dos campos de CreatePatientDto (o mesmo formato gerado pela exportação CSV); campos vazios viram null.
+ */
+final class PatientCsvReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private String[] header;
+    private int pending = -2;
+
+    PatientCsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lê a próxima linha de dados como mapa campo → valor, ou null ao final do arquivo.
+     */
+    Map<String, String> next() throws IOException {
+        if (header == null) {
+            List<String> headerValues = readRecord();
+            if (headerValues == null) {
+                return null;
+            }
+            header = headerValues.stream().map(String::trim).toArray(String[]::new);
+        }
+
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0) == null);
+
+        Map<String, String> row = new HashMap<>(header.length * 2);
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            row.put(header[i], values.get(i));
+        }
+        return row;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Aspas não fechadas no CSV.");
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(toValue());
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        pending = nextChar;
+                    }
+                }
+                values.add(toValue());
+                return values;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private String toValue() {
+        String value = field.toString();
+        field.setLength(0);
+        return value.isEmpty() ? null : value;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco da listagem paginada de pacientes.
+ * Guarda a última chave (full_name, id) retornada para que a próxima página
+ * seja buscada com um seek no índice em vez de OFFSET.
+ */
+public record PatientCursor(String fullName, UUID id) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public String encode() {
+        String raw = fullName + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PatientCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Cursor inválido.");
+            }
+            return new PatientCursor(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+}
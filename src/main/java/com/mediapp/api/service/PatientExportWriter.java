@@ -0,0 +1,199 @@
+package com.mediapp.api.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mediapp.api.dto.patient.PatientExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Escreve linhas de pacientes diretamente do ResultSet para o stream de saída,
+ * sem materializar entidades. As colunas são lidas por índice, na ordem de {@link #COLUMNS}.
+ */
+public abstract class PatientExportWriter {
+
+    static final Column[] COLUMNS = {
+        new Column("id", "id", Kind.STRING),
+        new Column("workspace_id", "workspaceId", Kind.STRING),
+        new Column("full_name", "fullName", Kind.STRING),
+        new Column("tax_id", "taxId", Kind.STRING),
+        new Column("identity_document", "identityDocument", Kind.STRING),
+        new Column("birth_date", "birthDate", Kind.STRING),
+        new Column("sex", "sex", Kind.STRING),
+        new Column("contact_phone", "contactPhone", Kind.STRING),
+        new Column("secondary_contact_phone", "secondaryContactPhone", Kind.STRING),
+        new Column("email", "email", Kind.STRING),
+        new Column("zip_code", "zipCode", Kind.STRING),
+        new Column("address_street", "addressStreet", Kind.STRING),
+        new Column("address_number", "addressNumber", Kind.STRING),
+        new Column("address_complement", "addressComplement", Kind.STRING),
+        new Column("address_neighborhood", "addressNeighborhood", Kind.STRING),
+        new Column("address_city", "addressCity", Kind.STRING),
+        new Column("address_state", "addressState", Kind.STRING),
+        new Column("guardian_full_name", "guardianFullName", Kind.STRING),
+        new Column("guardian_tax_id", "guardianTaxId", Kind.STRING),
+        new Column("guardian_contact_phone", "guardianContactPhone", Kind.STRING),
+        new Column("health_insurance", "healthInsurance", Kind.STRING),
+        new Column("insurance_card_number", "insuranceCardNumber", Kind.STRING),
+        new Column("allergies", "allergies", Kind.STRING),
+        new Column("fitzpatrick_phototype", "fitzpatrickPhototype", Kind.INTEGER),
+        new Column("general_observations", "generalObservations", Kind.STRING),
+        new Column("is_active", "active", Kind.BOOLEAN),
+        new Column("created_at", "createdAt", Kind.TIMESTAMP),
+        new Column("updated_at", "updatedAt", Kind.TIMESTAMP)
+    };
+
+    public static PatientExportWriter create(PatientExportFormat format, OutputStream out, JsonFactory jsonFactory)
+            throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(out, jsonFactory);
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    static String selectColumns(String alias) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(alias).append('.').append(COLUMNS[i].column());
+        }
+        return sql.toString();
+    }
+
+    public abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+    public abstract void flush() throws IOException;
+
+    public abstract void finish() throws IOException;
+
+    private static String readText(ResultSet rs, int index, Kind kind) throws SQLException {
+        return switch (kind) {
+            case TIMESTAMP -> {
+                Timestamp value = rs.getTimestamp(index);
+                yield value != null ? value.toInstant().toString() : null;
+            }
+            case BOOLEAN -> {
+                // getString devolveria "t"/"f" do PostgreSQL; o CSV usa true/false como o NDJSON
+                boolean value = rs.getBoolean(index);
+                yield rs.wasNull() ? null : String.valueOf(value);
+            }
+            default -> rs.getString(index);
+        };
+    }
+
+    private static class NdjsonWriter extends PatientExportWriter {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out, JsonFactory jsonFactory) throws IOException {
+            this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeRow(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Column column = COLUMNS[i];
+                int index = i + 1;
+                generator.writeFieldName(column.field());
+                switch (column.kind()) {
+                    case INTEGER -> {
+                        int value = rs.getInt(index);
+                        if (rs.wasNull()) generator.writeNull(); else generator.writeNumber(value);
+                    }
+                    case BOOLEAN -> {
+                        boolean value = rs.getBoolean(index);
+                        if (rs.wasNull()) generator.writeNull(); else generator.writeBoolean(value);
+                    }
+                    default -> {
+                        String value = readText(rs, index, column.kind());
+                        if (value == null) generator.writeNull(); else generator.writeString(value);
+                    }
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvWriter extends PatientExportWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) writer.write(',');
+                writer.write(COLUMNS[i].field());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) writer.write(',');
+                String value = readText(rs, i + 1, COLUMNS[i].kind());
+                if (value != null) {
+                    writeEscaped(writer, value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    static void writeEscaped(Writer writer, String value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') writer.write('"');
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    record Column(String column, String field, Kind kind) {}
+
+    enum Kind {
+        STRING, INTEGER, BOOLEAN, TIMESTAMP
+    }
+}
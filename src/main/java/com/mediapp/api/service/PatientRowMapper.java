@@ -0,0 +1,142 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.entity.Patient;
+import com.mediapp.api.entity.SexType;
+import com.mediapp.api.entity.Workspace;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapeia linhas de ResultSet para {@link Patient}.
+ * Os índices das colunas são resolvidos uma única vez por formato de ResultSet (lista de colunas)
+ * e reutilizados entre consultas; por linha, os valores são lidos por índice e aplicados por
+ * setters pré-compilados, sem mapas nem lookups por nome.
+ */
+public final class PatientRowMapper {
+
+    private static final Binding[] BINDINGS = {
+        new Binding("id", (p, rs, i) -> p.setId(toUuid(rs.getString(i)))),
+        new Binding("full_name", (p, rs, i) -> p.setFullName(rs.getString(i))),
+        new Binding("tax_id", (p, rs, i) -> p.setTaxId(rs.getString(i))),
+        new Binding("identity_document", (p, rs, i) -> p.setIdentityDocument(rs.getString(i))),
+        new Binding("birth_date", (p, rs, i) -> p.setBirthDate(rs.getString(i))),
+        new Binding("sex", (p, rs, i) -> {
+            String value = rs.getString(i);
+            p.setSex(value != null ? SexType.valueOf(value) : null);
+        }),
+        new Binding("contact_phone", (p, rs, i) -> p.setContactPhone(rs.getString(i))),
+        new Binding("secondary_contact_phone", (p, rs, i) -> p.setSecondaryContactPhone(rs.getString(i))),
+        new Binding("email", (p, rs, i) -> p.setEmail(rs.getString(i))),
+        new Binding("zip_code", (p, rs, i) -> p.setZipCode(rs.getString(i))),
+        new Binding("address_street", (p, rs, i) -> p.setAddressStreet(rs.getString(i))),
+        new Binding("address_number", (p, rs, i) -> p.setAddressNumber(rs.getString(i))),
+        new Binding("address_complement", (p, rs, i) -> p.setAddressComplement(rs.getString(i))),
+        new Binding("address_neighborhood", (p, rs, i) -> p.setAddressNeighborhood(rs.getString(i))),
+        new Binding("address_city", (p, rs, i) -> p.setAddressCity(rs.getString(i))),
+        new Binding("address_state", (p, rs, i) -> p.setAddressState(rs.getString(i))),
+        new Binding("guardian_full_name", (p, rs, i) -> p.setGuardianFullName(rs.getString(i))),
+        new Binding("guardian_tax_id", (p, rs, i) -> p.setGuardianTaxId(rs.getString(i))),
+        new Binding("guardian_contact_phone", (p, rs, i) -> p.setGuardianContactPhone(rs.getString(i))),
+        new Binding("health_insurance", (p, rs, i) -> p.setHealthInsurance(rs.getString(i))),
+        new Binding("insurance_card_number", (p, rs, i) -> p.setInsuranceCardNumber(rs.getString(i))),
+        new Binding("allergies", (p, rs, i) -> p.setAllergies(rs.getString(i))),
+        new Binding("fitzpatrick_phototype", (p, rs, i) -> {
+            int value = rs.getInt(i);
+            p.setFitzpatrickPhototype(rs.wasNull() ? null : value);
+        }),
+        new Binding("general_observations", (p, rs, i) -> p.setGeneralObservations(rs.getString(i))),
+        new Binding("is_active", (p, rs, i) -> p.setActive(rs.getBoolean(i))),
+        new Binding("created_at", (p, rs, i) -> p.setCreatedAt(toInstant(rs.getTimestamp(i)))),
+        new Binding("updated_at", (p, rs, i) -> p.setUpdatedAt(toInstant(rs.getTimestamp(i))))
+    };
+
+    private static final String WORKSPACE_ID_COLUMN = "workspace_id_col";
+    private static final String WORKSPACE_NAME_COLUMN = "workspace_name";
+
+    private static final Map<String, PatientRowMapper> BY_SHAPE = new ConcurrentHashMap<>();
+
+    // Índice (base 1) de cada binding no ResultSet; 0 quando a coluna não está presente
+    private final int[] indexes;
+    private final int workspaceIdIndex;
+    private final int workspaceNameIndex;
+
+    private PatientRowMapper(String[] labels) {
+        this.indexes = new int[BINDINGS.length];
+        for (int b = 0; b < BINDINGS.length; b++) {
+            indexes[b] = indexOf(labels, BINDINGS[b].column());
+        }
+        this.workspaceIdIndex = indexOf(labels, WORKSPACE_ID_COLUMN);
+        this.workspaceNameIndex = indexOf(labels, WORKSPACE_NAME_COLUMN);
+    }
+
+    /**
+     * Retorna o mapper para o formato de colunas do ResultSet, criando-o na primeira vez que o formato aparece.
+     */
+    public static PatientRowMapper forResultSet(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        StringBuilder shape = new StringBuilder(columnCount * 16);
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+            shape.append(labels[i]).append(',');
+        }
+        return BY_SHAPE.computeIfAbsent(shape.toString(), key -> new PatientRowMapper(labels));
+    }
+
+    public Patient mapRow(ResultSet rs) throws SQLException {
+        Patient patient = new Patient();
+
+        for (int b = 0; b < BINDINGS.length; b++) {
+            int index = indexes[b];
+            if (index != 0) {
+                BINDINGS[b].reader().read(patient, rs, index);
+            }
+        }
+
+        if (workspaceIdIndex != 0) {
+            String workspaceId = rs.getString(workspaceIdIndex);
+            if (workspaceId != null) {
+                Workspace workspace = new Workspace();
+                workspace.setId(UUID.fromString(workspaceId));
+                if (workspaceNameIndex != 0) {
+                    workspace.setName(rs.getString(workspaceNameIndex));
+                }
+                patient.setWorkspace(workspace);
+            }
+        }
+
+        return patient;
+    }
+
+    private static int indexOf(String[] labels, String column) {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equals(column)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static UUID toUuid(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+
+    private static java.time.Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        void read(Patient patient, ResultSet rs, int index) throws SQLException;
+    }
+
+    private record Binding(String column, ColumnReader reader) {}
+}
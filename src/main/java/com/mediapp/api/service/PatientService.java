@@ -1,167 +1,336 @@
 package com.mediapp.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mediapp.api.dto.patient.CreatePatientDto;
+import com.mediapp.api.dto.patient.PatientExportFormat;
+import com.mediapp.api.dto.patient.PatientImportErrorDto;
+import com.mediapp.api.dto.patient.PatientImportResultDto;
+import com.mediapp.api.dto.patient.PatientPageDto;
+import com.mediapp.api.dto.patient.PatientSummaryDto;
 import com.mediapp.api.dto.patient.UpdatePatientDto;
 import com.mediapp.api.entity.Patient;
-import com.mediapp.api.entity.SexType;
-import com.mediapp.api.entity.User;
-import com.mediapp.api.entity.Workspace;
+import com.mediapp.api.exception.BadRequestException;
 import com.mediapp.api.exception.ConflictException;
 import com.mediapp.api.exception.NotFoundException;
-import com.mediapp.api.repository.PatientRepository;
+import com.mediapp.api.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Savepoint;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @Service
+@Timed("mediapp.service")
 public class PatientService {
 
-    private final PatientRepository patientRepository;
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    public static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    public static final int MAX_IMPORT_ROWS = 50_000;
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String STRING_DATA_RIGHT_TRUNCATION = "22001";
+    private static final String TAX_ID_UNIQUE_INDEX = "patients_workspace_id_tax_id_active_unique";
+
+    private final ObjectMapper objectMapper;
+    private final PatientSqlTemplates sqlTemplates;
+    private final Validator validator;
+    private final PatientTypeaheadIndex typeaheadIndex;
 
     @Autowired
     private DataSource dataSource;
 
-    public PatientService(PatientRepository patientRepository) {
-        this.patientRepository = patientRepository;
+    public PatientService(ObjectMapper objectMapper, PatientSqlTemplates sqlTemplates, Validator validator,
+                          PatientTypeaheadIndex typeaheadIndex) {
+        this.objectMapper = objectMapper;
+        this.sqlTemplates = sqlTemplates;
+        this.validator = validator;
+        this.typeaheadIndex = typeaheadIndex;
     }
 
-    @Transactional
-    public Patient create(CreatePatientDto dto, User user) {
-        String normalizedTaxId = dto.taxId().replaceAll("[.-]", "");
+    /**
+     * Cria o paciente em um único comando: o CPF duplicado é detectado pelo índice único parcial
+     * patients_workspace_id_tax_id_active_unique e a entidade é montada a partir do RETURNING.
+     */
+    public Patient create(CreatePatientDto dto, AuthenticatedUser user) {
+        String normalizedTaxId = normalizeTaxId(dto.taxId());
+        return createWithNativeQuery(dto, user, normalizedTaxId);
+    }
 
-        if (patientRepository.existsByTaxIdAndWorkspaceIdAndActiveTrue(normalizedTaxId, user.getWorkspace().getId())) {
-            throw new ConflictException("CPF já cadastrado neste consultório.");
-        }
+    private Patient createWithNativeQuery(CreatePatientDto dto, AuthenticatedUser user, String normalizedTaxId) {
+        PatientColumnValues values = toColumnValues(dto, user.workspaceId(), normalizedTaxId,
+            java.sql.Timestamp.from(Instant.now()));
 
-        return createWithNativeQuery(dto, user, normalizedTaxId);
+        // INSERT de formato fixo: campos opcionais ausentes são enviados como NULL
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sqlTemplates.insert())) {
+            values.bind(stmt, 1, PatientColumn.ALL_MASK);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                Patient patient = PatientRowMapper.forResultSet(rs).mapRow(rs);
+                typeaheadIndex.onSaved(user.workspaceId(), toSummary(patient));
+                return patient;
+            }
+        } catch (java.sql.SQLException e) {
+            if (isTaxIdConflict(e)) {
+                throw new ConflictException("CPF já cadastrado neste consultório.");
+            }
+            throw new RuntimeException("Erro ao criar paciente: " + e.getMessage(), e);
+        }
     }
 
-    private Patient createWithNativeQuery(CreatePatientDto dto, User user, String normalizedTaxId) {
-        UUID patientId = UUID.randomUUID();
-        Instant now = Instant.now();
-        java.sql.Timestamp nowTimestamp = java.sql.Timestamp.from(now);
-        UUID workspaceId = user.getWorkspace().getId();
-
-        // Campos obrigatórios
-        List<FieldMapping> fields = new ArrayList<>();
-        fields.add(new FieldMapping("id", patientId.toString(), FieldType.UUID));
-        fields.add(new FieldMapping("workspace_id", workspaceId.toString(), FieldType.UUID));
-        fields.add(new FieldMapping("full_name", dto.fullName(), FieldType.STRING));
-        fields.add(new FieldMapping("tax_id", normalizedTaxId, FieldType.STRING));
-        fields.add(new FieldMapping("birth_date", dto.birthDate(), FieldType.STRING));
-        fields.add(new FieldMapping("contact_phone", dto.contactPhone(), FieldType.STRING));
-        fields.add(new FieldMapping("is_active", true, FieldType.BOOLEAN));
-        fields.add(new FieldMapping("created_at", nowTimestamp, FieldType.TIMESTAMP));
-        fields.add(new FieldMapping("updated_at", nowTimestamp, FieldType.TIMESTAMP));
-
-        // Campos opcionais
-        addOptionalField(fields, "sex", dto.sex(), () -> dto.sex().name(), FieldType.ENUM);
-        addOptionalField(fields, "identity_document", dto.identityDocument(), FieldType.STRING);
-        addOptionalField(fields, "secondary_contact_phone", dto.secondaryContactPhone(), FieldType.STRING);
-        addOptionalField(fields, "email", dto.email(), FieldType.STRING);
-        addOptionalField(fields, "zip_code", dto.zipCode(), FieldType.STRING);
-        addOptionalField(fields, "address_street", dto.addressStreet(), FieldType.STRING);
-        addOptionalField(fields, "address_number", dto.addressNumber(), FieldType.STRING);
-        addOptionalField(fields, "address_complement", dto.addressComplement(), FieldType.STRING);
-        addOptionalField(fields, "address_neighborhood", dto.addressNeighborhood(), FieldType.STRING);
-        addOptionalField(fields, "address_city", dto.addressCity(), FieldType.STRING);
-        addOptionalField(fields, "address_state", dto.addressState(), FieldType.STRING);
-        addOptionalField(fields, "guardian_full_name", dto.guardianFullName(), FieldType.STRING);
-        addOptionalField(fields, "guardian_tax_id", dto.guardianTaxId(), FieldType.STRING);
-        addOptionalField(fields, "guardian_contact_phone", dto.guardianContactPhone(), FieldType.STRING);
-        addOptionalField(fields, "health_insurance", dto.healthInsurance(), FieldType.STRING);
-        addOptionalField(fields, "insurance_card_number", dto.insuranceCardNumber(), FieldType.STRING);
-        addOptionalField(fields, "allergies", dto.allergies(), FieldType.STRING);
-        addOptionalField(fields, "fitzpatrick_phototype", dto.fitzpatrickPhototype(), FieldType.INTEGER);
-        addOptionalField(fields, "general_observations", dto.generalObservations(), FieldType.STRING);
-
-        String sql = buildInsertQuery(fields);
-        executeInsert(sql, fields);
-
-        return findPatientById(patientId);
+    private static PatientColumnValues toColumnValues(CreatePatientDto dto, UUID workspaceId, String normalizedTaxId,
+                                                      java.sql.Timestamp nowTimestamp) {
+        return new PatientColumnValues()
+            .set(PatientColumn.ID, UUID.randomUUID())
+            .set(PatientColumn.WORKSPACE_ID, workspaceId)
+            .set(PatientColumn.FULL_NAME, dto.fullName())
+            .set(PatientColumn.TAX_ID, normalizedTaxId)
+            .set(PatientColumn.BIRTH_DATE, dto.birthDate())
+            .set(PatientColumn.CONTACT_PHONE, dto.contactPhone())
+            .set(PatientColumn.IS_ACTIVE, true)
+            .set(PatientColumn.CREATED_AT, nowTimestamp)
+            .set(PatientColumn.UPDATED_AT, nowTimestamp)
+            .set(PatientColumn.SEX, dto.sex())
+            .set(PatientColumn.IDENTITY_DOCUMENT, dto.identityDocument())
+            .set(PatientColumn.SECONDARY_CONTACT_PHONE, dto.secondaryContactPhone())
+            .set(PatientColumn.EMAIL, dto.email())
+            .set(PatientColumn.ZIP_CODE, dto.zipCode())
+            .set(PatientColumn.ADDRESS_STREET, dto.addressStreet())
+            .set(PatientColumn.ADDRESS_NUMBER, dto.addressNumber())
+            .set(PatientColumn.ADDRESS_COMPLEMENT, dto.addressComplement())
+            .set(PatientColumn.ADDRESS_NEIGHBORHOOD, dto.addressNeighborhood())
+            .set(PatientColumn.ADDRESS_CITY, dto.addressCity())
+            .set(PatientColumn.ADDRESS_STATE, dto.addressState())
+            .set(PatientColumn.GUARDIAN_FULL_NAME, dto.guardianFullName())
+            .set(PatientColumn.GUARDIAN_TAX_ID, dto.guardianTaxId())
+            .set(PatientColumn.GUARDIAN_CONTACT_PHONE, dto.guardianContactPhone())
+            .set(PatientColumn.HEALTH_INSURANCE, dto.healthInsurance())
+            .set(PatientColumn.INSURANCE_CARD_NUMBER, dto.insuranceCardNumber())
+            .set(PatientColumn.ALLERGIES, dto.allergies())
+            .set(PatientColumn.FITZPATRICK_PHOTOTYPE, dto.fitzpatrickPhototype())
+            .set(PatientColumn.GENERAL_OBSERVATIONS, dto.generalObservations());
     }
 
-    private void addOptionalField(List<FieldMapping> fields, String fieldName, Object value, FieldType type) {
-        if (value != null) {
-            fields.add(new FieldMapping(fieldName, value, type));
+    /**
+     * Importa pacientes em lote a partir de uma lista já desserializada (JSON).
+     */
+    public PatientImportResultDto importPatients(List<CreatePatientDto> rows, AuthenticatedUser user) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BadRequestException("Nenhum paciente para importar.");
         }
+        // Elementos null no array JSON ([null, {...}]) contam como linhas rejeitadas com erro próprio
+        List<PatientImportErrorDto> errors = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) == null) {
+                errors.add(new PatientImportErrorDto(i + 1, null, List.of("Linha vazia.")));
+            }
+        }
+        return importRows(rows, errors, user);
     }
 
-    private <T> void addOptionalField(List<FieldMapping> fields, String fieldName, T value, Supplier<Object> valueMapper, FieldType type) {
-        if (value != null) {
-            fields.add(new FieldMapping(fieldName, valueMapper.get(), type));
+    /**
+     * Importa pacientes em lote a partir de um CSV com cabeçalho (mesmo formato da exportação CSV).
+     * Linhas que não podem ser convertidas em CreatePatientDto são reportadas como erro da linha.
+     */
+    public PatientImportResultDto importCsv(InputStream in, AuthenticatedUser user) {
+        List<CreatePatientDto> rows = new ArrayList<>();
+        List<PatientImportErrorDto> errors = new ArrayList<>();
+
+        try {
+            PatientCsvReader reader = new PatientCsvReader(
+                new java.io.BufferedReader(new java.io.InputStreamReader(in, java.nio.charset.StandardCharsets.UTF_8)));
+            Map<String, String> values;
+            while ((values = reader.next()) != null) {
+                if (rows.size() >= MAX_IMPORT_ROWS) {
+                    throw new BadRequestException("A importação aceita no máximo " + MAX_IMPORT_ROWS + " pacientes.");
+                }
+                try {
+                    rows.add(objectMapper.convertValue(values, CreatePatientDto.class));
+                } catch (IllegalArgumentException e) {
+                    rows.add(null);
+                    errors.add(new PatientImportErrorDto(rows.size(), values.get("taxId"),
+                        List.of("Linha inválida: " + e.getMessage())));
+                }
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("CSV inválido: " + e.getMessage());
         }
+
+        if (rows.isEmpty()) {
+            throw new BadRequestException("Nenhum paciente para importar.");
+        }
+        return importRows(rows, errors, user);
     }
 
-    private String buildInsertQuery(List<FieldMapping> fields) {
-        StringBuilder sql = new StringBuilder("INSERT INTO patients (");
-        
-        for (int i = 0; i < fields.size(); i++) {
-            if (i > 0) sql.append(", ");
-            sql.append(fields.get(i).getColumnName());
+    /**
+     * Valida as linhas em paralelo e grava as válidas com INSERT em batch (uma conexão, uma transação).
+     * CPF já ativo no workspace (ou repetido no próprio arquivo) é ignorado pelo ON CONFLICT do índice
+     * único parcial e reportado como erro da linha. Se o banco rejeitar um batch, ele é desfeito até o
+     * savepoint e regravado linha a linha, e só as linhas rejeitadas viram erro. Os chamadores registram o
+     * erro das linhas nulas antes; sem nenhuma linha válida, nenhuma conexão é aberta.
+     */
+    private PatientImportResultDto importRows(List<CreatePatientDto> rows, List<PatientImportErrorDto> errors,
+                                              AuthenticatedUser user) {
+        if (rows.size() > MAX_IMPORT_ROWS) {
+            throw new BadRequestException("A importação aceita no máximo " + MAX_IMPORT_ROWS + " pacientes.");
         }
-        
-        sql.append(") VALUES (");
-        
-        for (int i = 0; i < fields.size(); i++) {
-            if (i > 0) sql.append(", ");
-            FieldMapping field = fields.get(i);
-            sql.append(field.getPlaceholder());
+
+        List<List<String>> violations = IntStream.range(0, rows.size()).parallel()
+            .mapToObj(i -> rows.get(i) == null ? List.<String>of() : validator.validate(rows.get(i)).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList())
+            .toList();
+
+        java.sql.Timestamp nowTimestamp = java.sql.Timestamp.from(Instant.now());
+        int[] batchRows = new int[IMPORT_BATCH_SIZE];
+        int imported = 0;
+        boolean anyValid = false;
+        for (int i = 0; i < rows.size(); i++) {
+            CreatePatientDto dto = rows.get(i);
+            if (dto != null && !violations.get(i).isEmpty()) {
+                errors.add(new PatientImportErrorDto(i + 1, dto.taxId(), violations.get(i)));
+            } else if (dto != null) {
+                anyValid = true;
+            }
         }
-        
-        sql.append(")");
-        return sql.toString();
+
+        // Sem linhas válidas não há o que gravar: nenhuma conexão é aberta
+        if (anyValid) {
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = conn.prepareStatement(sqlTemplates.importInsert())) {
+                    int pending = 0;
+                    for (int i = 0; i < rows.size(); i++) {
+                        CreatePatientDto dto = rows.get(i);
+                        if (dto == null || !violations.get(i).isEmpty()) {
+                            continue;
+                        }
+
+                        toColumnValues(dto, user.workspaceId(), normalizeTaxId(dto.taxId()), nowTimestamp)
+                            .bind(stmt, 1, PatientColumn.ALL_MASK);
+                        stmt.addBatch();
+                        batchRows[pending++] = i;
+
+                        if (pending == IMPORT_BATCH_SIZE) {
+                            imported += executeImportBatch(conn, stmt, rows, batchRows, pending, errors,
+                                user.workspaceId(), nowTimestamp);
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        imported += executeImportBatch(conn, stmt, rows, batchRows, pending, errors,
+                            user.workspaceId(), nowTimestamp);
+                    }
+                    conn.commit();
+                } catch (java.sql.SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            } catch (java.sql.SQLException e) {
+                throw new RuntimeException("Erro ao importar pacientes: " + e.getMessage(), e);
+            }
+        }
+
+        if (imported > 0) {
+            typeaheadIndex.invalidate(user.workspaceId());
+        }
+        errors.sort(java.util.Comparator.comparingInt(PatientImportErrorDto::row));
+        return new PatientImportResultDto(rows.size(), imported, rows.size() - imported, errors);
     }
 
-    private void executeInsert(String sql, List<FieldMapping> fields) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            for (int i = 0; i < fields.size(); i++) {
-                fields.get(i).setParameter(stmt, i + 1);
+    private int executeImportBatch(Connection conn, PreparedStatement stmt, List<CreatePatientDto> rows,
+                                   int[] batchRows, int size, List<PatientImportErrorDto> errors,
+                                   UUID workspaceId, java.sql.Timestamp nowTimestamp) throws java.sql.SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        int[] counts;
+        try {
+            counts = stmt.executeBatch();
+        } catch (BatchUpdateException e) {
+            conn.rollback(savepoint);
+            stmt.clearBatch();
+            return importRowByRow(conn, stmt, rows, batchRows, size, errors, workspaceId, nowTimestamp);
+        }
+        conn.releaseSavepoint(savepoint);
+
+        int imported = 0;
+        for (int j = 0; j < size; j++) {
+            // 0 = ON CONFLICT DO NOTHING; SUCCESS_NO_INFO (driver com reWriteBatchedInserts) conta como importado
+            if (counts[j] == 0) {
+                errors.add(taxIdConflictError(rows, batchRows[j]));
+            } else {
+                imported++;
             }
-            
-            stmt.executeUpdate();
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao criar paciente: " + e.getMessage(), e);
         }
+        return imported;
     }
-    
-    private Patient findPatientById(UUID id) {
-        String sql = "SELECT p.id, p.workspace_id, p.full_name, p.tax_id, p.identity_document, p.birth_date, " +
-            "p.sex, p.contact_phone, p.secondary_contact_phone, p.email, p.zip_code, p.address_street, p.address_number, " +
-            "p.address_complement, p.address_neighborhood, p.address_city, p.address_state, p.guardian_full_name, " +
-            "p.guardian_tax_id, p.guardian_contact_phone, p.health_insurance, p.insurance_card_number, p.allergies, " +
-            "p.fitzpatrick_phototype, p.general_observations, p.is_active, p.created_at, p.updated_at, " +
-            "w.id as workspace_id_col, w.name as workspace_name " +
-            "FROM patients p LEFT JOIN workspaces w ON p.workspace_id = w.id WHERE p.id = CAST(? AS uuid)";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, id.toString());
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToPatient(rs);
+
+    // Regrava um batch rejeitado linha a linha, cada uma com seu savepoint, para isolar as linhas inválidas
+    private int importRowByRow(Connection conn, PreparedStatement stmt, List<CreatePatientDto> rows,
+                               int[] batchRows, int size, List<PatientImportErrorDto> errors,
+                               UUID workspaceId, java.sql.Timestamp nowTimestamp) throws java.sql.SQLException {
+        int imported = 0;
+        for (int j = 0; j < size; j++) {
+            CreatePatientDto dto = rows.get(batchRows[j]);
+            toColumnValues(dto, workspaceId, normalizeTaxId(dto.taxId()), nowTimestamp)
+                .bind(stmt, 1, PatientColumn.ALL_MASK);
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                if (stmt.executeUpdate() == 0) {
+                    errors.add(taxIdConflictError(rows, batchRows[j]));
+                } else {
+                    imported++;
                 }
+                conn.releaseSavepoint(savepoint);
+            } catch (java.sql.SQLException e) {
+                conn.rollback(savepoint);
+                errors.add(new PatientImportErrorDto(batchRows[j] + 1, dto.taxId(), List.of(rejectedRowMessage(e))));
             }
-        } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao buscar paciente: " + e.getMessage(), e);
         }
-        
-        throw new NotFoundException("Paciente não encontrado.");
+        return imported;
+    }
+
+    private static PatientImportErrorDto taxIdConflictError(List<CreatePatientDto> rows, int index) {
+        return new PatientImportErrorDto(index + 1, rows.get(index).taxId(), List.of("CPF já cadastrado neste consultório."));
+    }
+
+    static String rejectedRowMessage(java.sql.SQLException e) {
+        if (STRING_DATA_RIGHT_TRUNCATION.equals(e.getSQLState())) {
+            return "Um dos campos excede o tamanho máximo permitido.";
+        }
+        return "Linha rejeitada pelo banco de dados.";
+    }
+
+    static String normalizeTaxId(String taxId) {
+        return taxId.replaceAll("[.-]", "");
+    }
+
+    static boolean isTaxIdConflict(java.sql.SQLException e) {
+        return UNIQUE_VIOLATION.equals(e.getSQLState())
+            && e.getMessage() != null
+            && e.getMessage().contains(TAX_ID_UNIQUE_INDEX);
     }
 
-    public List<Patient> findAll(User user) {
+    public List<Patient> findAll(AuthenticatedUser user) {
         String sql = "SELECT p.id, p.workspace_id, p.full_name, p.tax_id, p.identity_document, p.birth_date, " +
             "p.sex, p.contact_phone, p.secondary_contact_phone, p.email, p.zip_code, p.address_street, p.address_number, " +
             "p.address_complement, p.address_neighborhood, p.address_city, p.address_state, p.guardian_full_name, " +
@@ -175,10 +344,11 @@ public class PatientService {
         
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, user.getWorkspace().getId().toString());
+            stmt.setString(1, user.workspaceId().toString());
             try (ResultSet rs = stmt.executeQuery()) {
+                PatientRowMapper rowMapper = PatientRowMapper.forResultSet(rs);
                 while (rs.next()) {
-                    patients.add(mapResultSetToPatient(rs));
+                    patients.add(rowMapper.mapRow(rs));
                 }
             }
         } catch (java.sql.SQLException e) {
@@ -188,245 +358,302 @@ public class PatientService {
         return patients;
     }
 
-    public Patient findOne(UUID id, User user) {
-        String sql = "SELECT p.id, p.workspace_id, p.full_name, p.tax_id, p.identity_document, p.birth_date, " +
-            "p.sex, p.contact_phone, p.secondary_contact_phone, p.email, p.zip_code, p.address_street, p.address_number, " +
-            "p.address_complement, p.address_neighborhood, p.address_city, p.address_state, p.guardian_full_name, " +
-            "p.guardian_tax_id, p.guardian_contact_phone, p.health_insurance, p.insurance_card_number, p.allergies, " +
-            "p.fitzpatrick_phototype, p.general_observations, p.is_active, p.created_at, p.updated_at, " +
-            "w.id as workspace_id_col, w.name as workspace_name " +
-            "FROM patients p LEFT JOIN workspaces w ON p.workspace_id = w.id " +
-            "WHERE p.id = CAST(? AS uuid) AND p.workspace_id = CAST(? AS uuid) AND p.is_active = true";
-        
+    public PatientPageDto findPage(AuthenticatedUser user, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PatientCursor after = cursor != null && !cursor.isBlank() ? PatientCursor.decode(cursor) : null;
+
+        // Seek em (full_name, id) usando idx_patients_workspace_active_name: custo constante por página
+        String sql = "SELECT p.id, p.full_name, p.tax_id, p.birth_date, p.contact_phone " +
+            "FROM patients p " +
+            "WHERE p.workspace_id = CAST(? AS uuid) AND p.is_active = true" +
+            (after != null ? " AND (p.full_name, p.id) > (?, CAST(? AS uuid))" : "") +
+            " ORDER BY p.full_name ASC, p.id ASC LIMIT ?";
+
+        List<PatientSummaryDto> items = new ArrayList<>(pageSize + 1);
+
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, id.toString());
-            stmt.setString(2, user.getWorkspace().getId().toString());
+            int paramIndex = 1;
+            stmt.setString(paramIndex++, user.workspaceId().toString());
+            if (after != null) {
+                stmt.setString(paramIndex++, after.fullName());
+                stmt.setString(paramIndex++, after.id().toString());
+            }
+            // Busca um registro extra apenas para saber se existe próxima página
+            stmt.setInt(paramIndex, pageSize + 1);
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToPatient(rs);
+                while (rs.next()) {
+                    items.add(mapResultSetToSummary(rs));
                 }
             }
         } catch (java.sql.SQLException e) {
-            throw new RuntimeException("Erro ao buscar paciente: " + e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar pacientes: " + e.getMessage(), e);
         }
-        
-        throw new NotFoundException("Paciente não encontrado.");
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items.remove(pageSize);
+            PatientSummaryDto last = items.get(pageSize - 1);
+            nextCursor = new PatientCursor(last.fullName(), last.id()).encode();
+        }
+
+        return new PatientPageDto(items, nextCursor);
     }
-    
-    private Patient mapResultSetToPatient(ResultSet rs) throws java.sql.SQLException {
-        Patient patient = new Patient();
-        
-        // Mapear campos string usando Map
-        java.util.Map<String, java.util.function.Consumer<String>> stringFields = new java.util.HashMap<>();
-        stringFields.put("id", value -> patient.setId(UUID.fromString(value)));
-        stringFields.put("full_name", patient::setFullName);
-        stringFields.put("tax_id", patient::setTaxId);
-        stringFields.put("identity_document", patient::setIdentityDocument);
-        stringFields.put("birth_date", patient::setBirthDate);
-        stringFields.put("contact_phone", patient::setContactPhone);
-        stringFields.put("secondary_contact_phone", patient::setSecondaryContactPhone);
-        stringFields.put("email", patient::setEmail);
-        stringFields.put("zip_code", patient::setZipCode);
-        stringFields.put("address_street", patient::setAddressStreet);
-        stringFields.put("address_number", patient::setAddressNumber);
-        stringFields.put("address_complement", patient::setAddressComplement);
-        stringFields.put("address_neighborhood", patient::setAddressNeighborhood);
-        stringFields.put("address_city", patient::setAddressCity);
-        stringFields.put("address_state", patient::setAddressState);
-        stringFields.put("guardian_full_name", patient::setGuardianFullName);
-        stringFields.put("guardian_tax_id", patient::setGuardianTaxId);
-        stringFields.put("guardian_contact_phone", patient::setGuardianContactPhone);
-        stringFields.put("health_insurance", patient::setHealthInsurance);
-        stringFields.put("insurance_card_number", patient::setInsuranceCardNumber);
-        stringFields.put("allergies", patient::setAllergies);
-        stringFields.put("general_observations", patient::setGeneralObservations);
-        
-        stringFields.forEach((column, setter) -> {
-            try {
-                String value = rs.getString(column);
-                if (value != null) {
-                    setter.accept(value);
+
+    /**
+     * Busca ranqueada de pacientes ativos do workspace. Consultas numéricas (CPF ou telefone, com ou sem
+     * máscara) fazem busca por prefixo nos dígitos de tax_id e contact_phone; as demais usam word_similarity
+     * do pg_trgm sobre o nome, ordenada por distância via idx_patients_workspace_name_trgm_gist (KNN).
+     */
+    public List<PatientSummaryDto> search(AuthenticatedUser user, String q, int limit) {
+        String query = q != null ? q.trim() : "";
+        if (query.length() < MIN_SEARCH_LENGTH) {
+            throw new BadRequestException("A busca deve ter pelo menos " + MIN_SEARCH_LENGTH + " caracteres.");
+        }
+        int resultSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        String columns = "SELECT p.id, p.full_name, p.tax_id, p.birth_date, p.contact_phone FROM patients p " +
+            "WHERE p.workspace_id = CAST(? AS uuid) AND p.is_active = true";
+
+        String sql;
+        List<Object> params = new ArrayList<>();
+        if (isNumericQuery(query)) {
+            String prefix = query.replaceAll("\\D", "") + "%";
+            sql = "(" + columns + " AND p.tax_id LIKE ? ORDER BY p.tax_id LIMIT ?) UNION " +
+                "(" + columns + " AND regexp_replace(p.contact_phone, '\\D', '', 'g') LIKE ? " +
+                "ORDER BY regexp_replace(p.contact_phone, '\\D', '', 'g') LIMIT ?) " +
+                "ORDER BY full_name LIMIT ?";
+            params.add(user.workspaceId().toString());
+            params.add(prefix);
+            params.add(resultSize);
+            params.add(user.workspaceId().toString());
+            params.add(prefix);
+            params.add(resultSize);
+        } else {
+            sql = columns + " AND ? <% p.full_name ORDER BY ? <<-> p.full_name, p.full_name LIMIT ?";
+            params.add(user.workspaceId().toString());
+            params.add(query);
+            params.add(query);
+        }
+        params.add(resultSize);
+
+        List<PatientSummaryDto> results = new ArrayList<>(resultSize);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(mapResultSetToSummary(rs));
                 }
-            } catch (java.sql.SQLException e) {
-                throw new RuntimeException("Erro ao mapear campo " + column, e);
             }
-        });
-        
-        // Campos especiais
-        String sexStr = rs.getString("sex");
-        if (sexStr != null) {
-            patient.setSex(SexType.valueOf(sexStr));
-        }
-        
-        Integer fitzpatrick = rs.getObject("fitzpatrick_phototype", Integer.class);
-        patient.setFitzpatrickPhototype(fitzpatrick);
-        
-        patient.setActive(rs.getBoolean("is_active"));
-        
-        java.sql.Timestamp createdAt = rs.getTimestamp("created_at");
-        if (createdAt != null) {
-            patient.setCreatedAt(createdAt.toInstant());
+        } catch (java.sql.SQLException e) {
+            throw new RuntimeException("Erro ao buscar pacientes: " + e.getMessage(), e);
         }
-        
-        java.sql.Timestamp updatedAt = rs.getTimestamp("updated_at");
-        if (updatedAt != null) {
-            patient.setUpdatedAt(updatedAt.toInstant());
+
+        return results;
+    }
+
+    /**
+     * Typeahead de pacientes: usa o índice em memória do workspace quando habilitado
+     * (patients.typeahead.enabled) e, caso contrário, a busca por trigramas no banco.
+     */
+    public List<PatientSummaryDto> typeahead(AuthenticatedUser user, String q, int limit) {
+        if (!typeaheadIndex.isEnabled()) {
+            return search(user, q, limit);
         }
-        
-        // Workspace
-        String workspaceIdStr = rs.getString("workspace_id_col");
-        if (workspaceIdStr != null) {
-            Workspace workspace = new Workspace();
-            workspace.setId(UUID.fromString(workspaceIdStr));
-            workspace.setName(rs.getString("workspace_name"));
-            patient.setWorkspace(workspace);
+        String query = q != null ? q.trim() : "";
+        if (query.length() < MIN_SEARCH_LENGTH) {
+            throw new BadRequestException("A busca deve ter pelo menos " + MIN_SEARCH_LENGTH + " caracteres.");
         }
-        
-        return patient;
+        int resultSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return typeaheadIndex.search(user.workspaceId(), query, resultSize, this::loadTypeaheadEntries);
     }
 
-    @Transactional
-    public Patient update(UUID id, UpdatePatientDto dto, User user) {
-        findOne(id, user);
-
-        if (dto.taxId() != null) {
-            String normalizedTaxId = dto.taxId().replaceAll("[.-]", "");
-            
-            patientRepository.findByTaxIdAndWorkspaceIdAndActiveTrue(normalizedTaxId, user.getWorkspace().getId())
-                .ifPresent(conflictingPatient -> {
-                    if (!conflictingPatient.getId().equals(id)) {
-                        throw new ConflictException("CPF já cadastrado neste consultório.");
-                    }
-                });
+    private List<PatientSummaryDto> loadTypeaheadEntries(UUID workspaceId) {
+        String sql = "SELECT p.id, p.full_name, p.tax_id, p.birth_date, p.contact_phone FROM patients p " +
+            "WHERE p.workspace_id = CAST(? AS uuid) AND p.is_active = true";
+
+        List<PatientSummaryDto> entries = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(EXPORT_FETCH_SIZE);
+            stmt.setString(1, workspaceId.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(mapResultSetToSummary(rs));
+                }
+            }
+        } catch (java.sql.SQLException e) {
+            throw new RuntimeException("Erro ao carregar índice de pacientes: " + e.getMessage(), e);
         }
+        return entries;
+    }
 
-        return updateWithNativeQuery(id, dto);
+    private static PatientSummaryDto toSummary(Patient patient) {
+        return new PatientSummaryDto(patient.getId(), patient.getFullName(), patient.getTaxId(),
+            patient.getBirthDate(), patient.getContactPhone());
     }
 
-    private Patient updateWithNativeQuery(UUID id, UpdatePatientDto dto) {
-        Instant now = Instant.now();
-        java.sql.Timestamp nowTimestamp = java.sql.Timestamp.from(now);
+    static boolean isNumericQuery(String query) {
+        return query.chars().anyMatch(Character::isDigit)
+            && query.chars().allMatch(c -> Character.isDigit(c) || c == '.' || c == '-' || c == '(' || c == ')'
+                || c == ' ' || c == '+');
+    }
 
-        List<FieldMapping> fields = new ArrayList<>();
-        fields.add(new FieldMapping("updated_at", nowTimestamp, FieldType.TIMESTAMP));
+    private PatientSummaryDto mapResultSetToSummary(ResultSet rs) throws java.sql.SQLException {
+        return new PatientSummaryDto(
+            UUID.fromString(rs.getString("id")),
+            rs.getString("full_name"),
+            rs.getString("tax_id"),
+            rs.getString("birth_date"),
+            rs.getString("contact_phone")
+        );
+    }
 
-        // Campos opcionais para atualização
-        addOptionalField(fields, "full_name", dto.fullName(), FieldType.STRING);
-        if (dto.taxId() != null) {
-            String normalizedTaxId = dto.taxId().replaceAll("[.-]", "");
-            addOptionalField(fields, "tax_id", normalizedTaxId, FieldType.STRING);
+    /**
+     * Exporta todos os pacientes do workspace (ativos e inativos) diretamente para o stream.
+     * Usa um cursor forward-only do PostgreSQL (autocommit desligado + fetch size), então a memória
+     * é constante independentemente do número de linhas; escritas bloqueantes no stream fazem o
+     * cursor avançar no ritmo do cliente.
+     */
+    public void export(AuthenticatedUser user, PatientExportFormat format, OutputStream out) {
+        String sql = "SELECT " + PatientExportWriter.selectColumns("p") + " FROM patients p " +
+            "WHERE p.workspace_id = CAST(? AS uuid)";
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(EXPORT_FETCH_SIZE);
+                stmt.setString(1, user.workspaceId().toString());
+
+                PatientExportWriter writer = PatientExportWriter.create(format, out, objectMapper.getFactory());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    int rows = 0;
+                    while (rs.next()) {
+                        writer.writeRow(rs);
+                        if (++rows % EXPORT_FETCH_SIZE == 0) {
+                            writer.flush();
+                        }
+                    }
+                }
+                writer.finish();
+            } finally {
+                conn.rollback();
+            }
+        } catch (java.sql.SQLException e) {
+            throw new RuntimeException("Erro ao exportar pacientes: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao escrever exportação de pacientes", e);
         }
-        addOptionalField(fields, "birth_date", dto.birthDate(), FieldType.STRING);
-        addOptionalField(fields, "contact_phone", dto.contactPhone(), FieldType.STRING);
-        addOptionalField(fields, "identity_document", dto.identityDocument(), FieldType.STRING);
-        addOptionalField(fields, "sex", dto.sex(), () -> dto.sex().name(), FieldType.ENUM);
-        addOptionalField(fields, "secondary_contact_phone", dto.secondaryContactPhone(), FieldType.STRING);
-        addOptionalField(fields, "email", dto.email(), FieldType.STRING);
-        addOptionalField(fields, "zip_code", dto.zipCode(), FieldType.STRING);
-        addOptionalField(fields, "address_street", dto.addressStreet(), FieldType.STRING);
-        addOptionalField(fields, "address_number", dto.addressNumber(), FieldType.STRING);
-        addOptionalField(fields, "address_complement", dto.addressComplement(), FieldType.STRING);
-        addOptionalField(fields, "address_neighborhood", dto.addressNeighborhood(), FieldType.STRING);
-        addOptionalField(fields, "address_city", dto.addressCity(), FieldType.STRING);
-        addOptionalField(fields, "address_state", dto.addressState(), FieldType.STRING);
-        addOptionalField(fields, "guardian_full_name", dto.guardianFullName(), FieldType.STRING);
-        addOptionalField(fields, "guardian_tax_id", dto.guardianTaxId(), FieldType.STRING);
-        addOptionalField(fields, "guardian_contact_phone", dto.guardianContactPhone(), FieldType.STRING);
-        addOptionalField(fields, "health_insurance", dto.healthInsurance(), FieldType.STRING);
-        addOptionalField(fields, "insurance_card_number", dto.insuranceCardNumber(), FieldType.STRING);
-        addOptionalField(fields, "allergies", dto.allergies(), FieldType.STRING);
-        addOptionalField(fields, "fitzpatrick_phototype", dto.fitzpatrickPhototype(), FieldType.INTEGER);
-        addOptionalField(fields, "general_observations", dto.generalObservations(), FieldType.STRING);
-
-        String sql = buildUpdateQuery(fields, id);
-        executeUpdate(sql, fields, id);
-
-        return findPatientById(id);
     }
 
-    private String buildUpdateQuery(List<FieldMapping> fields, UUID id) {
-        StringBuilder sql = new StringBuilder("UPDATE patients SET ");
+    public Patient findOne(UUID id, AuthenticatedUser user) {
+        String sql = "SELECT p.id, p.workspace_id, p.full_name, p.tax_id, p.identity_document, p.birth_date, " +
+            "p.sex, p.contact_phone, p.secondary_contact_phone, p.email, p.zip_code, p.address_street, p.address_number, " +
+            "p.address_complement, p.address_neighborhood, p.address_city, p.address_state, p.guardian_full_name, " +
+            "p.guardian_tax_id, p.guardian_contact_phone, p.health_insurance, p.insurance_card_number, p.allergies, " +
+            "p.fitzpatrick_phototype, p.general_observations, p.is_active, p.created_at, p.updated_at, " +
+            "w.id as workspace_id_col, w.name as workspace_name " +
+            "FROM patients p LEFT JOIN workspaces w ON p.workspace_id = w.id " +
+            "WHERE p.id = CAST(? AS uuid) AND p.workspace_id = CAST(? AS uuid) AND p.is_active = true";
         
-        for (int i = 0; i < fields.size(); i++) {
-            if (i > 0) sql.append(", ");
-            FieldMapping field = fields.get(i);
-            sql.append(field.getColumnName()).append(" = ").append(field.getPlaceholder());
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, id.toString());
+            stmt.setString(2, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return PatientRowMapper.forResultSet(rs).mapRow(rs);
+                }
+            }
+        } catch (java.sql.SQLException e) {
+            throw new RuntimeException("Erro ao buscar paciente: " + e.getMessage(), e);
         }
         
-        sql.append(" WHERE id = CAST(? AS uuid)");
-        return sql.toString();
+        throw new NotFoundException("Paciente não encontrado.");
+    }
+    
+    /**
+     * Atualiza o paciente em um único comando restrito ao workspace. Nenhuma linha afetada significa
+     * paciente inexistente, de outro workspace ou já removido; CPF duplicado é detectado pelo índice único.
+     */
+    public Patient update(UUID id, UpdatePatientDto dto, AuthenticatedUser user) {
+        return updateWithNativeQuery(id, dto, user);
     }
 
-    private void executeUpdate(String sql, List<FieldMapping> fields, UUID id) {
+    private Patient updateWithNativeQuery(UUID id, UpdatePatientDto dto, AuthenticatedUser user) {
+        String normalizedTaxId = dto.taxId() != null ? normalizeTaxId(dto.taxId()) : null;
+
+        PatientColumnValues values = new PatientColumnValues()
+            .set(PatientColumn.UPDATED_AT, java.sql.Timestamp.from(Instant.now()))
+            .set(PatientColumn.FULL_NAME, dto.fullName())
+            .set(PatientColumn.TAX_ID, normalizedTaxId)
+            .set(PatientColumn.BIRTH_DATE, dto.birthDate())
+            .set(PatientColumn.CONTACT_PHONE, dto.contactPhone())
+            .set(PatientColumn.IDENTITY_DOCUMENT, dto.identityDocument())
+            .set(PatientColumn.SEX, dto.sex())
+            .set(PatientColumn.SECONDARY_CONTACT_PHONE, dto.secondaryContactPhone())
+            .set(PatientColumn.EMAIL, dto.email())
+            .set(PatientColumn.ZIP_CODE, dto.zipCode())
+            .set(PatientColumn.ADDRESS_STREET, dto.addressStreet())
+            .set(PatientColumn.ADDRESS_NUMBER, dto.addressNumber())
+            .set(PatientColumn.ADDRESS_COMPLEMENT, dto.addressComplement())
+            .set(PatientColumn.ADDRESS_NEIGHBORHOOD, dto.addressNeighborhood())
+            .set(PatientColumn.ADDRESS_CITY, dto.addressCity())
+            .set(PatientColumn.ADDRESS_STATE, dto.addressState())
+            .set(PatientColumn.GUARDIAN_FULL_NAME, dto.guardianFullName())
+            .set(PatientColumn.GUARDIAN_TAX_ID, dto.guardianTaxId())
+            .set(PatientColumn.GUARDIAN_CONTACT_PHONE, dto.guardianContactPhone())
+            .set(PatientColumn.HEALTH_INSURANCE, dto.healthInsurance())
+            .set(PatientColumn.INSURANCE_CARD_NUMBER, dto.insuranceCardNumber())
+            .set(PatientColumn.ALLERGIES, dto.allergies())
+            .set(PatientColumn.FITZPATRICK_PHOTOTYPE, dto.fitzpatrickPhototype())
+            .set(PatientColumn.GENERAL_OBSERVATIONS, dto.generalObservations());
+
+        // O texto do UPDATE é reutilizado para o mesmo conjunto de campos enviados
+        long columnMask = values.mask();
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            int paramIndex = 1;
-            for (FieldMapping field : fields) {
-                field.setParameter(stmt, paramIndex++);
+             PreparedStatement stmt = conn.prepareStatement(sqlTemplates.update(columnMask))) {
+            int paramIndex = values.bind(stmt, 1, columnMask);
+            stmt.setString(paramIndex++, id.toString());
+            stmt.setString(paramIndex, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Patient patient = PatientRowMapper.forResultSet(rs).mapRow(rs);
+                    typeaheadIndex.onSaved(user.workspaceId(), toSummary(patient));
+                    return patient;
+                }
             }
-            
-            stmt.setString(paramIndex, id.toString());
-            stmt.executeUpdate();
         } catch (java.sql.SQLException e) {
+            if (isTaxIdConflict(e)) {
+                throw new ConflictException("CPF já cadastrado neste consultório.");
+            }
             throw new RuntimeException("Erro ao atualizar paciente: " + e.getMessage(), e);
         }
+
+        throw new NotFoundException("Paciente não encontrado.");
     }
 
-    @Transactional
-    public void remove(UUID id, User user) {
-        findOne(id, user);
-        
-        String sql = "UPDATE patients SET is_active = false, updated_at = ? WHERE id = CAST(? AS uuid)";
-        
+    public void remove(UUID id, AuthenticatedUser user) {
+        String sql = "UPDATE patients SET is_active = false, updated_at = ? " +
+            "WHERE id = CAST(? AS uuid) AND workspace_id = CAST(? AS uuid) AND is_active = true";
+
+        int updated;
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setTimestamp(1, java.sql.Timestamp.from(Instant.now()));
             stmt.setString(2, id.toString());
-            stmt.executeUpdate();
+            stmt.setString(3, user.workspaceId().toString());
+            updated = stmt.executeUpdate();
         } catch (java.sql.SQLException e) {
             throw new RuntimeException("Erro ao remover paciente: " + e.getMessage(), e);
         }
-    }
 
-    // Classe auxiliar para mapear campos e valores
-    private static class FieldMapping {
-        private final String columnName;
-        private final Object value;
-        private final FieldType type;
-
-        public FieldMapping(String columnName, Object value, FieldType type) {
-            this.columnName = columnName;
-            this.value = value;
-            this.type = type;
-        }
-
-        public String getColumnName() {
-            return columnName;
-        }
-
-        public String getPlaceholder() {
-            return switch (type) {
-                case UUID -> "CAST(? AS uuid)";
-                case ENUM -> "CAST(? AS patients_sex_enum)";
-                default -> "?";
-            };
+        if (updated == 0) {
+            throw new NotFoundException("Paciente não encontrado.");
         }
-
-        public void setParameter(PreparedStatement stmt, int index) throws java.sql.SQLException {
-            switch (type) {
-                case UUID -> stmt.setString(index, value.toString());
-                case ENUM -> stmt.setString(index, value.toString());
-                case TIMESTAMP -> stmt.setTimestamp(index, (java.sql.Timestamp) value);
-                case BOOLEAN -> stmt.setBoolean(index, (Boolean) value);
-                case INTEGER -> stmt.setInt(index, (Integer) value);
-                case STRING -> stmt.setString(index, value != null ? value.toString() : null);
-            }
-        }
-    }
-
-    private enum FieldType {
-        UUID, ENUM, TIMESTAMP, BOOLEAN, INTEGER, STRING
+        typeaheadIndex.onRemoved(user.workspaceId(), id);
     }
 }
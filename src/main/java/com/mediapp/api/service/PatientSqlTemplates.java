@@ -0,0 +1,94 @@
+package com.mediapp.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Textos SQL de escrita em patients, gerados uma vez e reutilizados.
+ * <p>
+ * O INSERT tem formato fixo (todas as colunas, NULL para campos ausentes), então existe um único texto;
+ * ele devolve a linha inserida já com o nome do workspace via RETURNING, sem uma segunda consulta.
+ * O UPDATE parcial depende dos campos enviados e é cacheado pelo bitmask de colunas presentes; ele é
+ * restrito ao workspace e a pacientes ativos e também devolve a linha atualizada via RETURNING.
+ * Reaproveitar o mesmo texto permite que o driver do PostgreSQL promova o statement a prepared
+ * statement no servidor. A quantidade de formatos em uso é publicada na métrica patients.sql.statement.shapes.
+ */
+@Component
+public class PatientSqlTemplates {
+
+    private static final String RETURNING_SELECT = "SELECT p.id, p.workspace_id, p.full_name, p.tax_id, " +
+        "p.identity_document, p.birth_date, p.sex, p.contact_phone, p.secondary_contact_phone, p.email, p.zip_code, " +
+        "p.address_street, p.address_number, p.address_complement, p.address_neighborhood, p.address_city, " +
+        "p.address_state, p.guardian_full_name, p.guardian_tax_id, p.guardian_contact_phone, p.health_insurance, " +
+        "p.insurance_card_number, p.allergies, p.fitzpatrick_phototype, p.general_observations, p.is_active, " +
+        "p.created_at, p.updated_at, w.id as workspace_id_col, w.name as workspace_name " +
+        "FROM written p LEFT JOIN workspaces w ON p.workspace_id = w.id";
+
+    private final String insertSql = "WITH written AS (" + buildInsert() + " RETURNING *) " + RETURNING_SELECT;
+    private final String importSql = buildInsert() + " ON CONFLICT (workspace_id, tax_id) WHERE is_active = true DO NOTHING";
+    private final Map<Long, String> updateTemplates = new ConcurrentHashMap<>();
+
+    public PatientSqlTemplates(MeterRegistry meterRegistry) {
+        Gauge.builder("patients.sql.statement.shapes", () -> 2)
+            .description("Formatos distintos de SQL de escrita em patients")
+            .tag("statement", "insert")
+            .register(meterRegistry);
+        Gauge.builder("patients.sql.statement.shapes", updateTemplates, Map::size)
+            .description("Formatos distintos de SQL de escrita em patients")
+            .tag("statement", "update")
+            .register(meterRegistry);
+    }
+
+    public String insert() {
+        return insertSql;
+    }
+
+    /**
+     * INSERT usado na importação em lote: CPF já ativo no workspace é ignorado (contagem 0 no batch)
+     * em vez de abortar o lote inteiro.
+     */
+    public String importInsert() {
+        return importSql;
+    }
+
+    public String update(long columnMask) {
+        return updateTemplates.computeIfAbsent(columnMask, PatientSqlTemplates::buildUpdate);
+    }
+
+    public int distinctShapes() {
+        return 2 + updateTemplates.size();
+    }
+
+    private static String buildInsert() {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (PatientColumn column : PatientColumn.ALL) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+                placeholders.append(", ");
+            }
+            columns.append(column.getColumnName());
+            placeholders.append(column.getPlaceholder());
+        }
+        return "INSERT INTO patients (" + columns + ") VALUES (" + placeholders + ")";
+    }
+
+    private static String buildUpdate(long columnMask) {
+        StringBuilder sql = new StringBuilder("WITH written AS (UPDATE patients SET ");
+        boolean first = true;
+        for (PatientColumn column : PatientColumn.ALL) {
+            if ((columnMask & column.bit()) != 0) {
+                if (!first) sql.append(", ");
+                sql.append(column.getColumnName()).append(" = ").append(column.getPlaceholder());
+                first = false;
+            }
+        }
+        sql.append(" WHERE id = CAST(? AS uuid) AND workspace_id = CAST(? AS uuid) AND is_active = true RETURNING *) ")
+            .append(RETURNING_SELECT);
+        return sql.toString();
+    }
+}
@@ -0,0 +1,247 @@
+package com.mediapp.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mediapp.api.dto.patient.PatientSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória, por workspace, para o typeahead de pacientes (opcional: patients.typeahead.enabled).
+ * <p>
+ * Cada workspace é carregado do banco na primeira consulta e mantido num mapa ordenado de tokens
+ * normalizados (minúsculos, sem acento) → ids, permitindo busca por prefixo sem ir ao PostgreSQL.
+ * Os tokens incluem as palavras do nome, o CPF e os dígitos do telefone. O PatientService mantém o índice
+ * atualizado em create/update/remove. Workspaces são descartados pelo limite total de pacientes em memória
+ * (política de eviction do Caffeine) ou após ficarem ociosos; estatísticas saem em "cache.*" com tag
+ * cache=patient-typeahead.
+ */
+@Component
+public class PatientTypeaheadIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Cache<UUID, WorkspaceIndex> workspaces;
+
+    public PatientTypeaheadIndex(@Value("${patients.typeahead.enabled:false}") boolean enabled,
+                                 @Value("${patients.typeahead.max-patients:500000}") long maxPatients,
+                                 @Value("${patients.typeahead.idle-ttl:30m}") Duration idleTtl,
+                                 MeterRegistry meterRegistry) {
+        if (enabled) {
+            this.workspaces = Caffeine.newBuilder()
+                .maximumWeight(maxPatients)
+                .weigher((UUID workspaceId, WorkspaceIndex index) -> Math.max(1, index.size()))
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, workspaces, "patient-typeahead");
+        } else {
+            this.workspaces = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return workspaces != null;
+    }
+
+    /**
+     * Busca pacientes cujo nome, CPF ou telefone tenha tokens começando com cada termo da consulta,
+     * ordenados por nome. O workspace é carregado com o loader informado se ainda não estiver em memória.
+     */
+    public List<PatientSummaryDto> search(UUID workspaceId, String query, int limit,
+                                          Function<UUID, List<PatientSummaryDto>> loader) {
+        String[] terms = PatientService.isNumericQuery(query)
+            ? new String[] { query.replaceAll("\\D", "") }
+            : tokenize(query);
+        if (terms.length == 0) {
+            return List.of();
+        }
+        WorkspaceIndex index = workspaces.get(workspaceId, id -> WorkspaceIndex.of(loader.apply(id)));
+        return index.search(terms, limit);
+    }
+
+    public void onSaved(UUID workspaceId, PatientSummaryDto patient) {
+        if (workspaces == null) {
+            return;
+        }
+        WorkspaceIndex index = workspaces.getIfPresent(workspaceId);
+        if (index != null) {
+            index.put(patient);
+            reweigh(workspaceId, index);
+        } else {
+            // Aguarda um carregamento em andamento e o descarta, para não perder esta alteração
+            workspaces.invalidate(workspaceId);
+        }
+    }
+
+    public void onRemoved(UUID workspaceId, UUID patientId) {
+        if (workspaces == null) {
+            return;
+        }
+        WorkspaceIndex index = workspaces.getIfPresent(workspaceId);
+        if (index != null) {
+            index.remove(patientId);
+            reweigh(workspaceId, index);
+        } else {
+            workspaces.invalidate(workspaceId);
+        }
+    }
+
+    /**
+     * O Caffeine só calcula o peso quando a entrada é gravada; regrava o mesmo índice para que o limite de
+     * patients.typeahead.max-patients acompanhe o tamanho atual. Se o workspace foi descartado nesse meio
+     * tempo, nada é regravado.
+     */
+    private void reweigh(UUID workspaceId, WorkspaceIndex index) {
+        workspaces.asMap().replace(workspaceId, index, index);
+    }
+
+    // Executa a manutenção pendente (eviction) de forma síncrona; usado nos testes
+    void cleanUp() {
+        if (workspaces != null) {
+            workspaces.cleanUp();
+        }
+    }
+
+    public void invalidate(UUID workspaceId) {
+        if (workspaces != null) {
+            workspaces.invalidate(workspaceId);
+        }
+    }
+
+    static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static String[] tokenize(String value) {
+        if (value == null) {
+            return new String[0];
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(fold(value)))
+            .filter(token -> !token.isEmpty())
+            .distinct()
+            .toArray(String[]::new);
+    }
+
+    private static final class WorkspaceIndex {
+
+        private final ConcurrentSkipListMap<String, Set<UUID>> tokens = new ConcurrentSkipListMap<>();
+        private final Map<UUID, Entry> patients = new ConcurrentHashMap<>();
+
+        static WorkspaceIndex of(List<PatientSummaryDto> summaries) {
+            WorkspaceIndex index = new WorkspaceIndex();
+            summaries.forEach(index::put);
+            return index;
+        }
+
+        int size() {
+            return patients.size();
+        }
+
+        synchronized void put(PatientSummaryDto patient) {
+            Entry previous = patients.get(patient.id());
+            if (previous != null) {
+                removeTokens(previous);
+            }
+            Entry entry = Entry.of(patient);
+            patients.put(patient.id(), entry);
+            for (String token : entry.tokens()) {
+                tokens.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(patient.id());
+            }
+        }
+
+        synchronized void remove(UUID patientId) {
+            Entry previous = patients.remove(patientId);
+            if (previous != null) {
+                removeTokens(previous);
+            }
+        }
+
+        private void removeTokens(Entry entry) {
+            for (String token : entry.tokens()) {
+                Set<UUID> ids = tokens.get(token);
+                if (ids != null) {
+                    ids.remove(entry.summary().id());
+                    if (ids.isEmpty()) {
+                        tokens.remove(token);
+                    }
+                }
+            }
+        }
+
+        List<PatientSummaryDto> search(String[] terms, int limit) {
+            // O termo mais longo tende a ser o mais seletivo: ele gera os candidatos, os demais filtram
+            String first = terms[0];
+            for (String term : terms) {
+                if (term.length() > first.length()) first = term;
+            }
+
+            List<Entry> matches = new ArrayList<>();
+            Set<UUID> seen = new HashSet<>();
+            for (Set<UUID> ids : tokens.subMap(first, true, first + Character.MAX_VALUE, true).values()) {
+                for (UUID id : ids) {
+                    Entry entry = patients.get(id);
+                    if (entry != null && seen.add(id) && entry.matchesAll(terms)) {
+                        matches.add(entry);
+                    }
+                }
+            }
+
+            return matches.stream()
+                .sorted(Comparator.comparing(Entry::sortKey))
+                .limit(limit)
+                .map(Entry::summary)
+                .toList();
+        }
+    }
+
+    private record Entry(PatientSummaryDto summary, String[] tokens, String sortKey) {
+
+        static Entry of(PatientSummaryDto patient) {
+            List<String> values = new ArrayList<>(Arrays.asList(tokenize(patient.fullName())));
+            if (patient.taxId() != null) {
+                values.add(patient.taxId());
+            }
+            if (patient.contactPhone() != null) {
+                String phoneDigits = patient.contactPhone().replaceAll("\\D", "");
+                if (!phoneDigits.isEmpty()) values.add(phoneDigits);
+            }
+            String sortKey = patient.fullName() != null ? fold(patient.fullName()) : "";
+            return new Entry(patient, values.stream().distinct().toArray(String[]::new), sortKey + patient.id());
+        }
+
+        boolean matchesAll(String[] terms) {
+            for (String term : terms) {
+                boolean found = false;
+                for (String token : tokens) {
+                    if (token.startsWith(term)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) return false;
+            }
+            return true;
+        }
+    }
+}
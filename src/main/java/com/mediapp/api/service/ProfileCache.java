@@ -0,0 +1,43 @@
+package com.mediapp.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mediapp.api.dto.auth.ProfileDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache limitado (tamanho + TTL) dos perfis retornados por GET /api/auth/profile, indexado pelo id do usuário.
+ * O TTL curto cobre alterações feitas por outros usuários (ex.: nome do workspace); alterações do próprio
+ * usuário devem chamar {@link #invalidate}. Estatísticas saem em "cache.*" com tag cache=profiles.
+ */
+@Component
+public class ProfileCache {
+
+    private final Cache<UUID, ProfileDto> cache;
+
+    public ProfileCache(@Value("${security.profile-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${security.profile-cache.ttl:1m}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "profiles");
+    }
+
+    public ProfileDto get(UUID userId, Function<UUID, ProfileDto> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(UUID userId) {
+        cache.invalidate(userId);
+    }
+}
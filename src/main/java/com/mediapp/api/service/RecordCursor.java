@@ -0,0 +1,38 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco da linha do tempo do prontuário.
+ * Guarda a última chave (record_date, id) retornada, com record_date em microssegundos (a precisão do
+ * PostgreSQL), para que a próxima página seja buscada com um seek no índice em vez de OFFSET.
+ */
+public record RecordCursor(Instant recordDate, UUID id) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public String encode() {
+        String raw = ChronoUnit.MICROS.between(Instant.EPOCH, recordDate) + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RecordCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Cursor inválido.");
+            }
+            Instant recordDate = Instant.EPOCH.plus(Long.parseLong(raw.substring(0, separator)), ChronoUnit.MICROS);
+            return new RecordCursor(recordDate, UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+}
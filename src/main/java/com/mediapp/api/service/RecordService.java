@@ -0,0 +1,287 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.dto.record.CreateRecordDto;
+import com.mediapp.api.dto.record.RecordPageDto;
+import com.mediapp.api.dto.record.RecordSearchResultDto;
+import com.mediapp.api.dto.record.RecordSummaryDto;
+import com.mediapp.api.entity.MedicalRecord;
+import com.mediapp.api.exception.BadRequestException;
+import com.mediapp.api.exception.NotFoundException;
+import com.mediapp.api.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Prontuário (registros SOAP) dos pacientes. O workspace de um registro é o do paciente, então todo acesso
+ * passa pelo join com patients.
+ * <p>
+ * A linha do tempo traz apenas os cabeçalhos (título, data, CID-10 e autor), paginados por cursor com seek em
+ * (record_date, id) no índice idx_records_on_patient_id; as seções de texto só são lidas no detalhe.
+ * A busca textual usa a coluna gerada search_vector (configuração portuguese) e o índice GIN idx_records_search_vector.
+ */
+@Service
+@Timed("mediapp.service")
+public class RecordService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    // O ts_headline marca os termos com caracteres de controle (removidos do texto antes); o trecho é escapado em
+    // HTML no Java e só então os marcadores viram <mark> e </mark>
+    private static final char MARK_START = '\u0002';
+    private static final char MARK_STOP = '\u0003';
+    private static final String HEADLINE_OPTIONS = "StartSel=\"" + MARK_START + "\", StopSel=\"" + MARK_STOP + "\", " +
+        "MaxWords=20, MinWords=8, MaxFragments=2, FragmentDelimiter=\" … \"";
+
+    private static final String DETAIL_COLUMNS = "r.id, r.patient_id, r.author_id, r.title, r.subjective, r.objective, " +
+        "r.assessment, r.plan, r.chief_complaint, r.history_of_present_illness, r.dermatological_exam, " +
+        "r.diagnostic_hypothesis, r.cid10_code, r.record_date, r.created_at, r.updated_at";
+
+    private final DataSource dataSource;
+
+    public RecordService(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Cria o registro em um único comando, apenas se o paciente estiver ativo no workspace do usuário.
+     * O autor é o usuário autenticado.
+     */
+    public MedicalRecord create(CreateRecordDto dto, AuthenticatedUser user) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String sql = "INSERT INTO records (id, patient_id, author_id, title, subjective, objective, assessment, plan, " +
+            "chief_complaint, history_of_present_illness, dermatological_exam, diagnostic_hypothesis, cid10_code, " +
+            "record_date, created_at, updated_at) " +
+            "SELECT CAST(? AS uuid), p.id, CAST(? AS uuid), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ? " +
+            "FROM patients p WHERE p.id = CAST(? AS uuid) AND p.workspace_id = CAST(? AS uuid) AND p.is_active = true " +
+            "RETURNING " + DETAIL_COLUMNS.replace("r.", "");
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int paramIndex = 1;
+            stmt.setString(paramIndex++, UUID.randomUUID().toString());
+            stmt.setString(paramIndex++, user.id().toString());
+            stmt.setString(paramIndex++, dto.title());
+            stmt.setString(paramIndex++, dto.subjective());
+            stmt.setString(paramIndex++, dto.objective());
+            stmt.setString(paramIndex++, dto.assessment());
+            stmt.setString(paramIndex++, dto.plan());
+            stmt.setString(paramIndex++, dto.chiefComplaint());
+            stmt.setString(paramIndex++, dto.historyOfPresentIllness());
+            stmt.setString(paramIndex++, dto.dermatologicalExam());
+            stmt.setString(paramIndex++, dto.diagnosticHypothesis());
+            stmt.setString(paramIndex++, dto.cid10Code());
+            stmt.setTimestamp(paramIndex++, dto.recordDate() != null ? Timestamp.from(dto.recordDate()) : now);
+            stmt.setTimestamp(paramIndex++, now);
+            stmt.setTimestamp(paramIndex++, now);
+            stmt.setString(paramIndex++, dto.patientId().toString());
+            stmt.setString(paramIndex, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao criar registro do prontuário: " + e.getMessage(), e);
+        }
+
+        throw new NotFoundException("Paciente não encontrado.");
+    }
+
+    /**
+     * Linha do tempo do paciente, do registro mais recente ao mais antigo, sem as seções de texto.
+     */
+    public RecordPageDto findTimeline(UUID patientId, AuthenticatedUser user, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        RecordCursor after = cursor != null && !cursor.isBlank() ? RecordCursor.decode(cursor) : null;
+
+        String sql = "SELECT r.id, r.title, r.record_date, r.cid10_code, r.author_id, u.full_name AS author_name " +
+            "FROM records r JOIN patients p ON p.id = r.patient_id LEFT JOIN users u ON u.id = r.author_id " +
+            "WHERE r.patient_id = CAST(? AS uuid) AND p.workspace_id = CAST(? AS uuid) AND p.is_active = true" +
+            (after != null ? " AND (r.record_date, r.id) < (?, CAST(? AS uuid))" : "") +
+            " ORDER BY r.record_date DESC, r.id DESC LIMIT ?";
+
+        List<RecordSummaryDto> items = new ArrayList<>(pageSize + 1);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int paramIndex = 1;
+            stmt.setString(paramIndex++, patientId.toString());
+            stmt.setString(paramIndex++, user.workspaceId().toString());
+            if (after != null) {
+                stmt.setTimestamp(paramIndex++, Timestamp.from(after.recordDate()));
+                stmt.setString(paramIndex++, after.id().toString());
+            }
+            // Busca um registro extra apenas para saber se existe próxima página
+            stmt.setInt(paramIndex, pageSize + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String authorId = rs.getString("author_id");
+                    items.add(new RecordSummaryDto(
+                        UUID.fromString(rs.getString("id")),
+                        rs.getString("title"),
+                        rs.getTimestamp("record_date").toInstant(),
+                        rs.getString("cid10_code"),
+                        authorId != null ? UUID.fromString(authorId) : null,
+                        rs.getString("author_name")));
+                }
+            }
+
+            // Primeira página vazia: distingue prontuário vazio de paciente inexistente ou de outro workspace
+            if (items.isEmpty() && after == null && !patientExists(conn, patientId, user)) {
+                throw new NotFoundException("Paciente não encontrado.");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao listar prontuário: " + e.getMessage(), e);
+        }
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items.remove(pageSize);
+            RecordSummaryDto last = items.get(pageSize - 1);
+            nextCursor = new RecordCursor(last.recordDate(), last.id()).encode();
+        }
+
+        return new RecordPageDto(items, nextCursor);
+    }
+
+    /**
+     * Registro completo, com todas as seções de texto.
+     */
+    public MedicalRecord findOne(UUID id, AuthenticatedUser user) {
+        String sql = "SELECT " + DETAIL_COLUMNS + " FROM records r JOIN patients p ON p.id = r.patient_id " +
+            "WHERE r.id = CAST(? AS uuid) AND p.workspace_id = CAST(? AS uuid) AND p.is_active = true";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, id.toString());
+            stmt.setString(2, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar registro do prontuário: " + e.getMessage(), e);
+        }
+
+        throw new NotFoundException("Registro do prontuário não encontrado.");
+    }
+
+    /**
+     * Busca textual ranqueada nos registros dos pacientes ativos do workspace, opcionalmente de um único paciente.
+     * Aceita a sintaxe de websearch_to_tsquery ("frase exata", OR, -termo). Os registros candidatos vêm do índice GIN
+     * em search_vector e o ts_headline, que relê o texto, só é calculado para os registros da página.
+     */
+    public List<RecordSearchResultDto> search(AuthenticatedUser user, String q, UUID patientId, int limit) {
+        String query = q != null ? q.trim() : "";
+        if (query.length() < MIN_SEARCH_LENGTH) {
+            throw new BadRequestException("A busca deve ter pelo menos " + MIN_SEARCH_LENGTH + " caracteres.");
+        }
+        int resultSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+
+        String sql = "SELECT h.id, h.patient_id, h.patient_full_name, h.title, h.record_date, h.cid10_code, h.rank, " +
+            "ts_headline('portuguese', translate(concat_ws(' … ', r.title, r.diagnostic_hypothesis, r.assessment, r.subjective, r.plan), " +
+            "chr(2) || chr(3), ''), " +
+            "websearch_to_tsquery('portuguese', ?), ?) AS snippet " +
+            "FROM (SELECT r.id, r.patient_id, p.full_name AS patient_full_name, r.title, r.record_date, r.cid10_code, " +
+            "ts_rank(r.search_vector, websearch_to_tsquery('portuguese', ?)) AS rank " +
+            "FROM records r JOIN patients p ON p.id = r.patient_id " +
+            "WHERE r.search_vector @@ websearch_to_tsquery('portuguese', ?) " +
+            "AND p.workspace_id = CAST(? AS uuid) AND p.is_active = true" +
+            (patientId != null ? " AND r.patient_id = CAST(? AS uuid)" : "") +
+            " ORDER BY rank DESC, r.record_date DESC, r.id LIMIT ?) h " +
+            "JOIN records r ON r.id = h.id " +
+            "ORDER BY h.rank DESC, h.record_date DESC, h.id";
+
+        List<RecordSearchResultDto> results = new ArrayList<>(resultSize);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int paramIndex = 1;
+            stmt.setString(paramIndex++, query);
+            stmt.setString(paramIndex++, HEADLINE_OPTIONS);
+            stmt.setString(paramIndex++, query);
+            stmt.setString(paramIndex++, query);
+            stmt.setString(paramIndex++, user.workspaceId().toString());
+            if (patientId != null) {
+                stmt.setString(paramIndex++, patientId.toString());
+            }
+            stmt.setInt(paramIndex, resultSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(new RecordSearchResultDto(
+                        UUID.fromString(rs.getString("id")),
+                        UUID.fromString(rs.getString("patient_id")),
+                        rs.getString("patient_full_name"),
+                        rs.getString("title"),
+                        rs.getTimestamp("record_date").toInstant(),
+                        rs.getString("cid10_code"),
+                        rs.getDouble("rank"),
+                        highlight(rs.getString("snippet"))));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar no prontuário: " + e.getMessage(), e);
+        }
+
+        return results;
+    }
+
+    /**
+     * Converte o trecho do ts_headline em HTML seguro: escapa o texto do registro e troca os marcadores de
+     * controle por {@code <mark>} e {@code </mark>}.
+     */
+    static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, StandardCharsets.UTF_8.name())
+            .replace(String.valueOf(MARK_START), "<mark>")
+            .replace(String.valueOf(MARK_STOP), "</mark>");
+    }
+
+    private static boolean patientExists(Connection conn, UUID patientId, AuthenticatedUser user) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT 1 FROM patients WHERE id = CAST(? AS uuid) AND workspace_id = CAST(? AS uuid) AND is_active = true")) {
+            stmt.setString(1, patientId.toString());
+            stmt.setString(2, user.workspaceId().toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static MedicalRecord mapRow(ResultSet rs) throws SQLException {
+        MedicalRecord record = new MedicalRecord();
+        record.setId(UUID.fromString(rs.getString("id")));
+        record.setPatientId(UUID.fromString(rs.getString("patient_id")));
+        String authorId = rs.getString("author_id");
+        record.setAuthorId(authorId != null ? UUID.fromString(authorId) : null);
+        record.setTitle(rs.getString("title"));
+        record.setSubjective(rs.getString("subjective"));
+        record.setObjective(rs.getString("objective"));
+        record.setAssessment(rs.getString("assessment"));
+        record.setPlan(rs.getString("plan"));
+        record.setChiefComplaint(rs.getString("chief_complaint"));
+        record.setHistoryOfPresentIllness(rs.getString("history_of_present_illness"));
+        record.setDermatologicalExam(rs.getString("dermatological_exam"));
+        record.setDiagnosticHypothesis(rs.getString("diagnostic_hypothesis"));
+        record.setCid10Code(rs.getString("cid10_code"));
+        record.setRecordDate(rs.getTimestamp("record_date").toInstant());
+        record.setCreatedAt(rs.getTimestamp("created_at").toInstant());
+        record.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
+        return record;
+    }
+}
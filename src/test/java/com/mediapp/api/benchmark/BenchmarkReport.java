@@ -0,0 +1,125 @@
+package com.mediapp.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara o resultado JSON do JMH com um baseline e gera um relatório Markdown para o CI arquivar.
+ * Usado pelo profile "benchmark" do pom.xml:
+ *
+ * <pre>
+ * BenchmarkReport &lt;resultado.json&gt; &lt;baseline.json&gt; &lt;relatorio.md&gt; &lt;limite-%&gt; &lt;falhar-em-regressao&gt;
+ * </pre>
+ *
+ * Sem baseline, o relatório traz apenas os valores atuais e um aviso; com falhar-em-regressao=true, a falta
+ * do baseline também falha o build, já que nenhuma regressão poderia ser detectada. Para atualizar o
+ * baseline, copie o resultado (target/jmh-result.json) para benchmarks/baseline.json.
+ */
+public final class BenchmarkReport {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        Path reportFile = Path.of(args[2]);
+        double thresholdPercent = Double.parseDouble(args[3]);
+        boolean failOnRegression = Boolean.parseBoolean(args[4]);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> current = index(objectMapper.readTree(resultFile.toFile()));
+        Map<String, JsonNode> baseline = Files.exists(baselineFile)
+            ? index(objectMapper.readTree(baselineFile.toFile()))
+            : Map.of();
+
+        StringBuilder report = new StringBuilder("# Benchmarks\n\n");
+        if (baseline.isEmpty()) {
+            report.append("Sem baseline em `").append(baselineFile).append("`: apenas os valores atuais.\n\n");
+        } else {
+            report.append("Baseline: `").append(baselineFile).append("` (limite de regressão: ")
+                .append(format(thresholdPercent)).append("%)\n\n");
+        }
+        report.append("| Benchmark | Modo | Atual | Baseline | Δ | Alocação (B/op) | Alocação baseline | |\n");
+        report.append("|---|---|---|---|---|---|---|---|\n");
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode result = entry.getValue();
+            JsonNode previous = baseline.get(entry.getKey());
+            String mode = result.path("mode").asText();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            String unit = result.path("primaryMetric").path("scoreUnit").asText();
+
+            String baselineScore = "-";
+            String delta = "-";
+            String status = "";
+            if (previous != null) {
+                double previousScore = previous.path("primaryMetric").path("score").asDouble();
+                double change = (score - previousScore) / previousScore * 100;
+                // Em modo throughput, maior é melhor; nos demais (tempo médio, amostragem), menor é melhor
+                double worsening = "thrpt".equals(mode) ? -change : change;
+                baselineScore = format(previousScore);
+                delta = (change >= 0 ? "+" : "") + format(change) + "%";
+                if (worsening > thresholdPercent) {
+                    status = "REGRESSÃO";
+                    regressions++;
+                }
+            }
+
+            report.append("| ").append(entry.getKey())
+                .append(" | ").append(mode)
+                .append(" | ").append(format(score)).append(' ').append(unit)
+                .append(" | ").append(baselineScore)
+                .append(" | ").append(delta)
+                .append(" | ").append(allocation(result))
+                .append(" | ").append(previous != null ? allocation(previous) : "-")
+                .append(" | ").append(status)
+                .append(" |\n");
+        }
+
+        report.append("\nRegressões: ").append(regressions).append('\n');
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+
+        if (baseline.isEmpty()) {
+            System.err.println("AVISO: baseline de benchmarks ausente ou vazio em " + baselineFile
+                + "; nenhuma regressão foi verificada. Copie target/jmh-result.json para esse arquivo.");
+            if (failOnRegression) {
+                System.exit(1);
+            }
+        }
+        if (failOnRegression && regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String name = result.path("benchmark").asText().replace("com.mediapp.api.benchmark.", "");
+            byName.put(name, result);
+        }
+        return byName;
+    }
+
+    private static String allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOC_METRIC);
+        return metric.isMissingNode() ? "-" : format(metric.path("score").asDouble());
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
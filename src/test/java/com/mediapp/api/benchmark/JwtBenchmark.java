@@ -0,0 +1,77 @@
+package com.mediapp.api.benchmark;
+
+import com.mediapp.api.entity.User;
+import com.mediapp.api.entity.UserRole;
+import com.mediapp.api.entity.Workspace;
+import com.mediapp.api.security.JwtClaims;
+import com.mediapp.api.security.JwtUtil;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão e verificação de JWT. verifyUncached mede a verificação completa (HMAC + parse dos claims);
+ * verifyCached mede o caminho usual do filtro, com o token já presente no cache de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final long EXPIRATION_MS = 28_800_000L;
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecretKey secretKey = Keys.hmacShaKeyFor(
+            "benchmark-secret-key-with-at-least-256-bits-for-hs256".getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(secretKey, EXPIRATION_MS);
+        uncachedJwtUtil = new JwtUtil(secretKey, EXPIRATION_MS, 0);
+
+        Workspace workspace = new Workspace();
+        workspace.setId(UUID.randomUUID());
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("doctor@example.com");
+        user.setRole(UserRole.ADMIN);
+        user.setWorkspace(workspace);
+
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> verifyUncached() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> verifyCached() {
+        return jwtUtil.verify(token);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mediapp.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mediapp.api.dto.patient.CreatePatientDto;
+import com.mediapp.api.entity.Patient;
+import com.mediapp.api.entity.SexType;
+import com.mediapp.api.service.PatientResultSets;
+import com.mediapp.api.service.PatientRowMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de CreatePatientDto (Bean Validation) e serialização Jackson de Patient,
+ * com o paciente montado pelo mesmo {@link PatientRowMapper} usado pela API.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientDtoBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ObjectMapper objectMapper;
+    private CreatePatientDto dto;
+    private Patient patient;
+
+    @Setup
+    public void setUp() throws Exception {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        dto = new CreatePatientDto(
+            "Maria Silva Santos", "123.456.789-00", "1990-05-15", "(11) 98765-4321",
+            "12.345.678-9", SexType.FEMALE, null, "maria@email.com", "01234-567", "Rua das Flores", "123",
+            null, "Centro", "São Paulo", "SP", null, null, null, "Unimed", "123456789",
+            "Alergia a penicilina", 3, "Observações gerais"
+        );
+
+        SimpleResultSet resultSet = PatientResultSets.patientResultSet(1);
+        resultSet.next();
+        patient = PatientRowMapper.forResultSet(resultSet).mapRow(resultSet);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreatePatientDto>> validateCreatePatientDto() {
+        return validator.validate(dto);
+    }
+
+    @Benchmark
+    public byte[] serializePatient() throws Exception {
+        return objectMapper.writeValueAsBytes(patient);
+    }
+}
@@ -0,0 +1,138 @@
+package com.mediapp.api.benchmark;
+
+import com.mediapp.api.entity.Patient;
+import com.mediapp.api.entity.SexType;
+import com.mediapp.api.entity.Workspace;
+import com.mediapp.api.service.PatientResultSets;
+import com.mediapp.api.service.PatientRowMapper;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compara o mapeamento antigo (HashMap de setters + lookup por nome a cada linha) com o
+ * {@link PatientRowMapper}. Rode com o profiler de GC para ver a alocação por linha (gc.alloc.rate.norm):
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main PatientRowMapperBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientRowMapperBenchmark {
+
+    static final int ROWS = 100;
+
+    private SimpleResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        resultSet = PatientResultSets.patientResultSet(ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyMapByName(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            blackhole.consume(legacyMap(resultSet));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowMapperByIndex(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        PatientRowMapper rowMapper = PatientRowMapper.forResultSet(resultSet);
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.mapRow(resultSet));
+        }
+    }
+
+    // Cópia do mapeamento original de PatientService, mantida aqui apenas como baseline
+    private static Patient legacyMap(ResultSet rs) throws SQLException {
+        Patient patient = new Patient();
+
+        Map<String, Consumer<String>> stringFields = new HashMap<>();
+        stringFields.put("id", value -> patient.setId(UUID.fromString(value)));
+        stringFields.put("full_name", patient::setFullName);
+        stringFields.put("tax_id", patient::setTaxId);
+        stringFields.put("identity_document", patient::setIdentityDocument);
+        stringFields.put("birth_date", patient::setBirthDate);
+        stringFields.put("contact_phone", patient::setContactPhone);
+        stringFields.put("secondary_contact_phone", patient::setSecondaryContactPhone);
+        stringFields.put("email", patient::setEmail);
+        stringFields.put("zip_code", patient::setZipCode);
+        stringFields.put("address_street", patient::setAddressStreet);
+        stringFields.put("address_number", patient::setAddressNumber);
+        stringFields.put("address_complement", patient::setAddressComplement);
+        stringFields.put("address_neighborhood", patient::setAddressNeighborhood);
+        stringFields.put("address_city", patient::setAddressCity);
+        stringFields.put("address_state", patient::setAddressState);
+        stringFields.put("guardian_full_name", patient::setGuardianFullName);
+        stringFields.put("guardian_tax_id", patient::setGuardianTaxId);
+        stringFields.put("guardian_contact_phone", patient::setGuardianContactPhone);
+        stringFields.put("health_insurance", patient::setHealthInsurance);
+        stringFields.put("insurance_card_number", patient::setInsuranceCardNumber);
+        stringFields.put("allergies", patient::setAllergies);
+        stringFields.put("general_observations", patient::setGeneralObservations);
+
+        stringFields.forEach((column, setter) -> {
+            try {
+                String value = rs.getString(column);
+                if (value != null) {
+                    setter.accept(value);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Erro ao mapear campo " + column, e);
+            }
+        });
+
+        String sexStr = rs.getString("sex");
+        if (sexStr != null) {
+            patient.setSex(SexType.valueOf(sexStr));
+        }
+        patient.setFitzpatrickPhototype(rs.getObject("fitzpatrick_phototype", Integer.class));
+        patient.setActive(rs.getBoolean("is_active"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            patient.setCreatedAt(createdAt.toInstant());
+        }
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        if (updatedAt != null) {
+            patient.setUpdatedAt(updatedAt.toInstant());
+        }
+        String workspaceIdStr = rs.getString("workspace_id_col");
+        if (workspaceIdStr != null) {
+            Workspace workspace = new Workspace();
+            workspace.setId(UUID.fromString(workspaceIdStr));
+            workspace.setName(rs.getString("workspace_name"));
+            patient.setWorkspace(workspace);
+        }
+        return patient;
+    }
+}
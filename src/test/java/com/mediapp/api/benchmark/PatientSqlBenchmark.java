@@ -0,0 +1,89 @@
+package com.mediapp.api.benchmark;
+
+import com.mediapp.api.entity.SexType;
+import com.mediapp.api.service.PatientColumn;
+import com.mediapp.api.service.PatientColumnValues;
+import com.mediapp.api.service.PatientSqlTemplates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do SQL de escrita de pacientes: geração por requisição (como era o buildUpdateQuery original)
+ * contra o template cacheado por bitmask em {@link PatientSqlTemplates}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientSqlBenchmark {
+
+    private PatientSqlTemplates templates;
+    private Timestamp now;
+
+    @Setup
+    public void setUp() {
+        templates = new PatientSqlTemplates(new SimpleMeterRegistry());
+        now = Timestamp.from(Instant.now());
+    }
+
+    @Benchmark
+    public String legacyBuildUpdate() {
+        List<String[]> fields = new ArrayList<>();
+        fields.add(new String[] { "updated_at", "?" });
+        fields.add(new String[] { "full_name", "?" });
+        fields.add(new String[] { "contact_phone", "?" });
+        fields.add(new String[] { "sex", "CAST(? AS patients_sex_enum)" });
+        fields.add(new String[] { "allergies", "?" });
+
+        StringBuilder sql = new StringBuilder("UPDATE patients SET ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(fields.get(i)[0]).append(" = ").append(fields.get(i)[1]);
+        }
+        sql.append(" WHERE id = CAST(? AS uuid)");
+        return sql.toString();
+    }
+
+    @Benchmark
+    public String cachedUpdateTemplate() {
+        PatientColumnValues values = new PatientColumnValues()
+            .set(PatientColumn.UPDATED_AT, now)
+            .set(PatientColumn.FULL_NAME, "Maria Silva Santos")
+            .set(PatientColumn.CONTACT_PHONE, "(11) 98765-4321")
+            .set(PatientColumn.SEX, SexType.FEMALE)
+            .set(PatientColumn.ALLERGIES, "Penicilina");
+        return templates.update(values.mask());
+    }
+
+    @Benchmark
+    public PatientColumnValues insertColumnValues() {
+        return new PatientColumnValues()
+            .set(PatientColumn.ID, UUID.randomUUID())
+            .set(PatientColumn.WORKSPACE_ID, UUID.randomUUID())
+            .set(PatientColumn.FULL_NAME, "Maria Silva Santos")
+            .set(PatientColumn.TAX_ID, "12345678900")
+            .set(PatientColumn.BIRTH_DATE, "1990-05-15")
+            .set(PatientColumn.CONTACT_PHONE, "(11) 98765-4321")
+            .set(PatientColumn.IS_ACTIVE, true)
+            .set(PatientColumn.CREATED_AT, now)
+            .set(PatientColumn.UPDATED_AT, now);
+    }
+}
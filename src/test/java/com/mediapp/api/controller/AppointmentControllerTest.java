@@ -0,0 +1,45 @@
+package com.mediapp.api.controller;
+
+import com.mediapp.api.service.AppointmentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AppointmentController Tests - ETag da agenda")
+class AppointmentControllerTest {
+
+    private final Instant now = Instant.parse("2024-05-20T13:00:00.123456Z");
+
+    @Test
+    @DisplayName("ETag da agenda deve mudar com alteração, remoção ou paciente atualizado")
+    void agendaETag_ShouldChangeWhenAgendaChanges() {
+        // Arrange
+        AppointmentService.AgendaVersion version = new AppointmentService.AgendaVersion(3, now, now);
+        AppointmentService.AgendaVersion updated = new AppointmentService.AgendaVersion(3, now.plusNanos(1000), now);
+        AppointmentService.AgendaVersion removed = new AppointmentService.AgendaVersion(2, now, now);
+        AppointmentService.AgendaVersion patientUpdated = new AppointmentService.AgendaVersion(3, now, now.plusSeconds(1));
+
+        // Act
+        String eTag = AppointmentController.agendaETag(version);
+
+        // Assert
+        assertTrue(eTag.startsWith("W/\""));
+        assertEquals(eTag, AppointmentController.agendaETag(new AppointmentService.AgendaVersion(3, now, now)));
+        assertNotEquals(eTag, AppointmentController.agendaETag(updated));
+        assertNotEquals(eTag, AppointmentController.agendaETag(removed));
+        assertNotEquals(eTag, AppointmentController.agendaETag(patientUpdated));
+    }
+
+    @Test
+    @DisplayName("ETag da agenda vazia deve ser estável")
+    void agendaETag_ShouldHandleEmptyAgenda() {
+        // Arrange
+        AppointmentService.AgendaVersion empty = new AppointmentService.AgendaVersion(0, null, null);
+
+        // Act & Assert
+        assertEquals("W/\"0-0-0\"", AppointmentController.agendaETag(empty));
+    }
+}
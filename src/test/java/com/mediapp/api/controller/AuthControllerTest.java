@@ -221,4 +221,25 @@ class AuthControllerTest {
         // Assert
         assertEquals("Operação realizada com sucesso.", response.get("message"));
     }
+
+    @Test
+    @DisplayName("ETag do perfil deve ser fraco e mudar quando o workspace é atualizado")
+    void profileETag_ShouldChangeWhenWorkspaceIsUpdated() {
+        // Arrange
+        WorkspaceDto workspace = new WorkspaceDto(workspaceId, "Clínica", DocumentType.CPF, "123", userId, now, now);
+        WorkspaceDto renamed = new WorkspaceDto(workspaceId, "Clínica Nova", DocumentType.CPF, "123", userId, now,
+            now.plusMillis(1));
+        ProfileDto profile = new ProfileDto(userId, "Dr. Teste", "teste@example.com", UserRole.ADMIN, null, null,
+            workspace, now, now);
+        ProfileDto updated = new ProfileDto(userId, "Dr. Teste", "teste@example.com", UserRole.ADMIN, null, null,
+            renamed, now, now);
+
+        // Act
+        String eTag = AuthController.profileETag(profile);
+
+        // Assert
+        assertTrue(eTag.startsWith("W/\""));
+        assertEquals(eTag, AuthController.profileETag(profile));
+        assertNotEquals(eTag, AuthController.profileETag(updated));
+    }
 }
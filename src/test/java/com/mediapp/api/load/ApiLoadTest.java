@@ -0,0 +1,477 @@
+package com.mediapp.api.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de carga ponta a ponta: sobe a API numa porta aleatória contra um PostgreSQL embarcado com o
+ * schema do docker-compose, popula workspaces e pacientes e dispara clientes concorrentes por cenário.
+ * Gera target/load-test-report.md com p50/p95/p99, throughput e a espera por conexão do Hikari, e
+ * target/load-test-metrics.prom com as métricas da aplicação (/actuator/prometheus) ao final da carga.
+ * Excluído do build padrão; rode com {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "logging.level.root=WARN",
+        "logging.level.com.mediapp.api=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "management.metrics.distribution.slo.hikaricp.connections.acquire=" + ApiLoadTest.POOL_WAIT_SLO
+    }
+)
+@DisplayName("Teste de carga da API (PostgreSQL embarcado)")
+class ApiLoadTest {
+
+    private static final int WORKSPACES = Integer.getInteger("load.workspaces", 5);
+    private static final int PATIENTS_PER_WORKSPACE = Integer.getInteger("load.patients", 2000);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup", 3));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 10));
+    static final String POOL_WAIT_SLO = "1ms,5ms,10ms,50ms,100ms,500ms,1s";
+    private static final Set<Double> POOL_WAIT_BUCKETS_MS = Set.of(1.0, 5.0, 10.0, 50.0, 100.0, 500.0, 1000.0);
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-test-report.md"));
+    private static final Instant APPOINTMENTS_START = Instant.parse("2030-01-07T00:00:00Z");
+    private static final Duration APPOINTMENT_SLOT = Duration.ofMinutes(15);
+    private static final Path METRICS = Path.of("target", "load-test-metrics.prom");
+
+    private static LoadTestDatabase database;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong taxIdSequence = new AtomicLong();
+    private final Queue<CreatedPatient> createdPatients = new ConcurrentLinkedQueue<>();
+    private final AtomicLong appointmentSequence = new AtomicLong();
+    private List<String> tokens;
+    private List<String> profileETags;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws Exception {
+        database = LoadTestDatabase.start(WORKSPACES, PATIENTS_PER_WORKSPACE);
+        registry.add("spring.datasource.url", database::jdbcUrl);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Cenários de autenticação, pacientes, agenda e prontuário sob carga concorrente")
+    void runScenarios() throws Exception {
+        tokens = new ArrayList<>();
+        for (LoadTestDatabase.Workspace workspace : database.workspaces()) {
+            HttpResponse<String> response = httpClient.send(login(workspace.email()), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            tokens.add(objectMapper.readTree(response.body()).path("access_token").asText());
+        }
+        profileETags = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            Client client = new Client(i);
+            HttpResponse<String> profile = httpClient.send(get(client, "/api/auth/profile"), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, profile.statusCode(), profile.body());
+            String eTag = profile.headers().firstValue("ETag").orElseThrow();
+            HttpResponse<String> unchanged = httpClient.send(
+                client.authorized(HttpRequest.newBuilder(uri("/api/auth/profile"))).header("If-None-Match", eTag).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(304, unchanged.statusCode());
+            profileETags.add(eTag);
+        }
+
+        // Mesmo horário duas vezes para o mesmo profissional: a constraint de exclusão recusa o segundo
+        Client first = new Client(0);
+        assertEquals(201, httpClient.send(createAppointment(first, APPOINTMENTS_START), HttpResponse.BodyHandlers.ofString()).statusCode());
+        HttpResponse<String> overlap = httpClient.send(createAppointment(first, APPOINTMENTS_START.plus(Duration.ofMinutes(10))),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(409, overlap.statusCode(), overlap.body());
+
+        // Horário livre agendado deixa de aparecer na disponibilidade (cache invalidado pelo agendamento)
+        String availability = "/api/appointments/availability?from=" + APPOINTMENTS_START.atZone(ZoneOffset.UTC).toLocalDate()
+            + "&days=7&limit=5";
+        JsonNode before = objectMapper.readTree(httpClient.send(get(first, availability), HttpResponse.BodyHandlers.ofString()).body());
+        Instant freeSlot = Instant.parse(before.path(0).path("startTime").asText());
+        HttpResponse<String> booked = httpClient.send(createAppointment(first, freeSlot), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, booked.statusCode(), booked.body());
+        JsonNode after = objectMapper.readTree(httpClient.send(get(first, availability), HttpResponse.BodyHandlers.ofString()).body());
+        assertNotEquals(freeSlot, Instant.parse(after.path(0).path("startTime").asText()));
+        // Cancelar libera o horário de novo
+        HttpResponse<String> canceled = httpClient.send(first.authorized(HttpRequest.newBuilder(
+                uri("/api/appointments/" + objectMapper.readTree(booked.body()).path("id").asText())))
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"CANCELED\"}"))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, canceled.statusCode(), canceled.body());
+        JsonNode reopened = objectMapper.readTree(httpClient.send(get(first, availability), HttpResponse.BodyHandlers.ofString()).body());
+        assertEquals(freeSlot, Instant.parse(reopened.path(0).path("startTime").asText()));
+
+        // Agenda da semana: a consulta cancelada sai com o filtro de status e o ETag responde 304 sem mudanças
+        String agenda = "/api/appointments/agenda?view=WEEK&date=" + freeSlot.atZone(ZoneOffset.UTC).toLocalDate();
+        HttpResponse<String> week = httpClient.send(get(first, agenda), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, week.statusCode(), week.body());
+        assertTrue(week.body().contains("CANCELED"));
+        assertTrue(objectMapper.readTree(week.body()).path(0).hasNonNull("patientFullName"));
+        HttpResponse<String> active = httpClient.send(get(first, agenda + "&status=SCHEDULED,CONFIRMED"),
+            HttpResponse.BodyHandlers.ofString());
+        assertFalse(active.body().contains("CANCELED"), active.body());
+        HttpResponse<String> unchangedWeek = httpClient.send(first.authorized(HttpRequest.newBuilder(uri(agenda)))
+            .header("If-None-Match", week.headers().firstValue("ETag").orElseThrow()).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, unchangedWeek.statusCode());
+
+        // Prontuário: a linha do tempo traz só os cabeçalhos, do mais recente ao mais antigo, paginada por cursor
+        UUID recordPatient = first.randomPatientId();
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<String> created = httpClient.send(createRecord(first, recordPatient, APPOINTMENTS_START.plus(Duration.ofDays(i))),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, created.statusCode(), created.body());
+        }
+        JsonNode firstPage = objectMapper.readTree(httpClient.send(get(first, "/api/records?limit=2&patientId=" + recordPatient),
+            HttpResponse.BodyHandlers.ofString()).body());
+        assertEquals(2, firstPage.path("items").size());
+        assertFalse(firstPage.path("items").path(0).has("subjective"));
+        assertEquals(APPOINTMENTS_START.plus(Duration.ofDays(2)), Instant.parse(firstPage.path("items").path(0).path("recordDate").asText()));
+        JsonNode lastPage = objectMapper.readTree(httpClient.send(get(first, "/api/records?limit=2&patientId=" + recordPatient
+            + "&cursor=" + firstPage.path("nextCursor").asText()), HttpResponse.BodyHandlers.ofString()).body());
+        assertEquals(1, lastPage.path("items").size());
+        assertTrue(lastPage.path("nextCursor").isNull());
+        HttpResponse<String> detail = httpClient.send(get(first, "/api/records/" + lastPage.path("items").path(0).path("id").asText()),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, detail.statusCode(), detail.body());
+        assertTrue(objectMapper.readTree(detail.body()).hasNonNull("subjective"));
+
+        // Busca textual: encontra pelo radical em português, destaca o termo e não vaza para outro workspace
+        JsonNode found = objectMapper.readTree(httpClient.send(get(first, "/api/records/search?q=melasmas&patientId=" + recordPatient),
+            HttpResponse.BodyHandlers.ofString()).body());
+        assertEquals(3, found.size(), found.toString());
+        assertTrue(found.path(0).path("snippet").asText().contains("<mark>"), found.toString());
+        HttpResponse<String> otherWorkspace = httpClient.send(get(new Client(1), "/api/records/search?q=melasma&patientId=" + recordPatient),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals("[]", otherWorkspace.body());
+        // O texto do registro volta escapado no trecho; apenas as marcações <mark> são HTML
+        String unsafe = "{\"patientId\":\"" + recordPatient + "\",\"title\":\"Retorno\",\"assessment\":"
+            + "\"Lesão 3 < 5 cm & <script>alert(1)</script> queloide\"}";
+        assertEquals(201, httpClient.send(first.authorized(HttpRequest.newBuilder(uri("/api/records")))
+            .header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(unsafe)).build(),
+            HttpResponse.BodyHandlers.ofString()).statusCode());
+        String escaped = objectMapper.readTree(httpClient.send(get(first, "/api/records/search?q=queloide&patientId=" + recordPatient),
+            HttpResponse.BodyHandlers.ofString()).body()).path(0).path("snippet").asText();
+        assertTrue(escaped.contains("<mark>queloide</mark>"), escaped);
+        assertFalse(escaped.replace("<mark>", "").replace("</mark>", "").matches("(?s).*[<>].*"), escaped);
+
+        List<EndpointStats> results = new ArrayList<>();
+        results.add(run("POST /api/auth/login", client -> login(client.workspace().email())));
+        results.add(run("GET /api/auth/profile (304)", client -> client.authorized(HttpRequest.newBuilder(uri("/api/auth/profile")))
+            .header("If-None-Match", profileETags.get(client.workspaceIndex)).GET().build()));
+        results.add(run("GET /api/patients/page", client -> get(client, "/api/patients/page?limit=50")));
+        results.add(run("GET /api/patients", client -> get(client, "/api/patients")));
+        results.add(run("GET /api/patients/{id}", client -> get(client, "/api/patients/" + client.randomPatientId())));
+        results.add(run("GET /api/patients/search", client -> get(client, "/api/patients/search?q=mari%20silv")));
+        results.add(run("POST /api/patients", this::createPatient));
+        results.add(run("PATCH /api/patients/{id}", client -> patch(client, client.randomPatientId())));
+        results.add(run("DELETE /api/patients/{id}", this::removeCreatedPatient));
+        results.add(run("POST /api/appointments", client -> createAppointment(client, nextAppointmentSlot())));
+        results.add(run("GET /api/appointments/availability", client -> get(client, availability)));
+        results.add(run("GET /api/appointments/agenda (semana)", client -> get(client, "/api/appointments/agenda?view=WEEK&date="
+            + APPOINTMENTS_START.atZone(ZoneOffset.UTC).toLocalDate())));
+        results.add(run("POST /api/records", client -> createRecord(client, client.randomPatientId(), Instant.now())));
+        results.add(run("GET /api/records (linha do tempo)", client -> get(client, "/api/records?limit=20&patientId="
+            + client.randomPatientId())));
+        results.add(run("GET /api/records/search", client -> get(client, "/api/records/search?q=melasma%20regress%C3%A3o&limit=20")));
+        results.add(run("GET /api/appointments (semana)", client -> get(client, "/api/appointments?from="
+            + APPOINTMENTS_START + "&to=" + APPOINTMENTS_START.plus(Duration.ofDays(7)))));
+
+        writeReport(results);
+        for (EndpointStats stats : results) {
+            assertTrue(stats.requests() > 0, "Nenhuma requisição concluída em " + stats.name());
+            assertEquals(0, stats.errors(), "Requisições com erro em " + stats.name() + ": " + stats.firstError());
+        }
+
+        // Snapshot das métricas da aplicação após a carga (serviços, SQL, pool, BCrypt/JWT)
+        HttpResponse<String> metrics = httpClient.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + managementPort + "/actuator/prometheus")).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, metrics.statusCode(), metrics.body());
+        // Na porta pública da API o actuator só expõe /actuator/health
+        assertNotEquals(200, httpClient.send(HttpRequest.newBuilder(uri("/actuator/prometheus")).GET().build(),
+            HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(200, httpClient.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + managementPort + "/actuator/health")).GET().build(),
+            HttpResponse.BodyHandlers.ofString()).statusCode());
+        Files.writeString(METRICS, metrics.body(), StandardCharsets.UTF_8);
+        assertTrue(metrics.body().contains("jdbc_statement_seconds_bucket"));
+        assertTrue(metrics.body().contains("mediapp_service_seconds_bucket"));
+        assertTrue(metrics.body().contains("security_password_seconds_bucket"));
+    }
+
+    /**
+     * Executa um cenário: CLIENTS threads em laço fechado, primeiro o aquecimento (não medido) e depois a
+     * medição. Um request nulo encerra o cliente (por exemplo, quando não há mais pacientes para remover).
+     */
+    private EndpointStats run(String name, Function<Client, HttpRequest> scenario) throws Exception {
+        EndpointStats stats = new EndpointStats(name);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long warmupEnd = System.nanoTime() + WARMUP.toNanos();
+            drive(executor, scenario, warmupEnd, null);
+
+            HistogramSnapshot poolBefore = poolAcquireSnapshot();
+            long start = System.nanoTime();
+            drive(executor, scenario, start + DURATION.toNanos(), stats);
+            stats.finish(System.nanoTime() - start, poolWait(poolBefore, poolAcquireSnapshot()));
+        } finally {
+            executor.shutdownNow();
+        }
+        return stats;
+    }
+
+    private void drive(ExecutorService executor, Function<Client, HttpRequest> scenario, long end, EndpointStats stats)
+            throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Client client = new Client(i % database.workspaces().size());
+            futures.add(executor.submit(() -> {
+                while (System.nanoTime() < end) {
+                    HttpRequest request = scenario.apply(client);
+                    if (request == null) {
+                        return null;
+                    }
+                    long begin = System.nanoTime();
+                    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                    long latency = System.nanoTime() - begin;
+                    boolean success = response.statusCode() < 400;
+                    if (success && request.method().equals("POST") && request.uri().getPath().equals("/api/patients")) {
+                        UUID id = UUID.fromString(objectMapper.readTree(response.body()).path("id").asText());
+                        createdPatients.add(new CreatedPatient(id, request.headers().firstValue("Authorization").orElseThrow()));
+                    }
+                    if (stats != null) {
+                        stats.record(latency, response.statusCode(), response.body());
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(DURATION.toSeconds() + WARMUP.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+    }
+
+    private HttpRequest login(String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + LoadTestDatabase.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest get(Client client, String path) {
+        return client.authorized(HttpRequest.newBuilder(uri(path))).GET().build();
+    }
+
+    private HttpRequest createPatient(Client client) {
+        long sequence = taxIdSequence.incrementAndGet();
+        String body = String.format(Locale.ROOT,
+            "{\"fullName\":\"Paciente Carga %d\",\"taxId\":\"%011d\",\"birthDate\":\"1990-05-15\"," +
+                "\"contactPhone\":\"(11) 98765-4321\",\"sex\":\"FEMALE\",\"email\":\"carga%d@email.com\"}",
+            sequence, 90_000_000_000L + sequence, sequence);
+        return client.authorized(HttpRequest.newBuilder(uri("/api/patients")))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest createAppointment(Client client, Instant start) {
+        String body = "{\"patientId\":\"" + client.randomPatientId() + "\",\"startTime\":\"" + start
+            + "\",\"endTime\":\"" + start.plus(APPOINTMENT_SLOT) + "\"}";
+        return client.authorized(HttpRequest.newBuilder(uri("/api/appointments")))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest createRecord(Client client, UUID patientId, Instant recordDate) {
+        String body = "{\"patientId\":\"" + patientId + "\",\"title\":\"Consulta de retorno\",\"recordDate\":\"" + recordDate
+            + "\",\"subjective\":\"" + "Paciente relata melhora das lesões após o tratamento. ".repeat(40)
+            + "\",\"assessment\":\"Melasma em regressão\",\"plan\":\"Manter fotoproteção\",\"cid10Code\":\"L81.1\"}";
+        return client.authorized(HttpRequest.newBuilder(uri("/api/records")))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private Instant nextAppointmentSlot() {
+        // Horários sequenciais e distintos: os agendamentos do cenário nunca conflitam
+        return APPOINTMENTS_START.plus(APPOINTMENT_SLOT.multipliedBy(appointmentSequence.incrementAndGet()));
+    }
+
+    private HttpRequest patch(Client client, UUID patientId) {
+        String body = "{\"contactPhone\":\"(11) 9" + ThreadLocalRandom.current().nextInt(10_000_000, 99_999_999) + "\"}";
+        return client.authorized(HttpRequest.newBuilder(uri("/api/patients/" + patientId)))
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest removeCreatedPatient(Client client) {
+        CreatedPatient patient = createdPatients.poll();
+        if (patient == null) {
+            return null;
+        }
+        // Remove com o token do workspace que criou o paciente
+        return HttpRequest.newBuilder(uri("/api/patients/" + patient.id()))
+            .header("Authorization", patient.authorization())
+            .DELETE()
+            .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HistogramSnapshot poolAcquireSnapshot() {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").timer();
+        return timer != null ? timer.takeSnapshot() : null;
+    }
+
+    private static EndpointStats.PoolWait poolWait(HistogramSnapshot before, HistogramSnapshot after) {
+        if (before == null || after == null) {
+            return EndpointStats.PoolWait.EMPTY;
+        }
+        long count = after.count() - before.count();
+        double totalMillis = after.total(TimeUnit.MILLISECONDS) - before.total(TimeUnit.MILLISECONDS);
+
+        StringBuilder histogram = new StringBuilder();
+        CountAtBucket[] beforeBuckets = before.histogramCounts();
+        CountAtBucket[] afterBuckets = after.histogramCounts();
+        double previousCumulative = 0;
+        for (int i = 0; i < afterBuckets.length; i++) {
+            // Só as faixas do SLO: o histograma de percentis do Hikari traz dezenas de outras
+            if (!POOL_WAIT_BUCKETS_MS.contains(afterBuckets[i].bucket(TimeUnit.MILLISECONDS))) {
+                continue;
+            }
+            double cumulative = afterBuckets[i].count() - (i < beforeBuckets.length ? beforeBuckets[i].count() : 0);
+            if (histogram.length() > 0) histogram.append(", ");
+            histogram.append(String.format(Locale.ROOT, "≤%.0fms: %.0f",
+                afterBuckets[i].bucket(TimeUnit.MILLISECONDS), cumulative - previousCumulative));
+            previousCumulative = cumulative;
+        }
+        if (histogram.length() > 0) histogram.append(", ");
+        histogram.append(String.format(Locale.ROOT, ">: %.0f", count - previousCumulative));
+
+        return new EndpointStats.PoolWait(count == 0 ? 0 : totalMillis / count, histogram.toString());
+    }
+
+    private String threadingMode() {
+        String threads = Threading.VIRTUAL.isActive(environment)
+            ? "threads virtuais"
+            : "threads de plataforma (server.tomcat.threads.max=" + environment.getProperty("server.tomcat.threads.max", "200") + ")";
+        String bulkhead = Threading.VIRTUAL.isActive(environment)
+            ? "bulkhead JDBC com " + environment.getProperty("jdbc.bulkhead.permits") + " permissões"
+            : "sem bulkhead JDBC";
+        return threads + ", " + bulkhead + ", pool de "
+            + environment.getProperty("spring.datasource.hikari.maximum-pool-size") + " conexões, Java "
+            + Runtime.version().feature();
+    }
+
+    private void writeReport(List<EndpointStats> results) throws IOException {
+        StringBuilder report = new StringBuilder("# Teste de carga\n\n");
+        report.append(String.format(Locale.ROOT,
+            "%d workspaces × %d pacientes, %d clientes concorrentes, %ds de aquecimento e %ds de medição por cenário.%n%n",
+            WORKSPACES, PATIENTS_PER_WORKSPACE, CLIENTS, WARMUP.toSeconds(), DURATION.toSeconds()));
+        report.append("Execução: ").append(threadingMode()).append(".\n\n");
+        report.append("| Endpoint | Requisições | Erros | req/s | p50 (ms) | p95 (ms) | p99 (ms) | máx (ms) | " +
+            "espera pool média (ms) | espera pool (histograma) |\n");
+        report.append("|---|---|---|---|---|---|---|---|---|---|\n");
+        for (EndpointStats stats : results) {
+            report.append(stats.toMarkdownRow()).append('\n');
+        }
+
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        Files.writeString(REPORT, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+
+    private record CreatedPatient(UUID id, String authorization) {}
+
+    private final class Client {
+        private final int workspaceIndex;
+
+        Client(int workspaceIndex) {
+            this.workspaceIndex = workspaceIndex;
+        }
+
+        LoadTestDatabase.Workspace workspace() {
+            return database.workspaces().get(workspaceIndex);
+        }
+
+        UUID randomPatientId() {
+            List<UUID> ids = workspace().patientIds();
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+            return builder.header("Authorization", "Bearer " + tokens.get(workspaceIndex));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mediapp.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Latências (HdrHistogram, em microssegundos) e contadores de um cenário do teste de carga,
+ * mais o histograma de espera por conexão do pool (Hikari) medido durante o cenário.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+    private long elapsedNanos;
+    private PoolWait poolWait = PoolWait.EMPTY;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, int status, String body) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1000));
+        if (status >= 400) {
+            errors.incrementAndGet();
+            firstError.compareAndSet(null, status + " " + body);
+        }
+    }
+
+    void finish(long elapsedNanos, PoolWait poolWait) {
+        this.elapsedNanos = elapsedNanos;
+        this.poolWait = poolWait;
+    }
+
+    String name() {
+        return name;
+    }
+
+    long requests() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    String firstError() {
+        return firstError.get();
+    }
+
+    double throughput() {
+        return elapsedNanos == 0 ? 0 : requests() / (elapsedNanos / 1e9);
+    }
+
+    String toMarkdownRow() {
+        return String.format(Locale.ROOT, "| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f | %.3f | %s |",
+            name, requests(), errors(), throughput(),
+            millis(50), millis(95), millis(99), latencies.getMaxValue() / 1000.0,
+            poolWait.meanMillis(), poolWait.histogram());
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Espera por conexão do pool no intervalo do cenário: média e contagem por faixa (limites em ms).
+     */
+    record PoolWait(double meanMillis, String histogram) {
+        static final PoolWait EMPTY = new PoolWait(0, "-");
+    }
+}
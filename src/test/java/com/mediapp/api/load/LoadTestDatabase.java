@@ -0,0 +1,131 @@
+package com.mediapp.api.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL embarcado para o teste de carga: aplica docker/schema.sql (o mesmo schema do docker-compose)
+ * e popula N workspaces × M pacientes, com um usuário ADMIN por workspace.
+ */
+final class LoadTestDatabase {
+
+    static final String PASSWORD = "senha-carga-123";
+
+    private static final String FIRST_NAMES = "ARRAY['Ana','Bruno','Carla','Diego','Eduarda','Felipe','Gabriela','Henrique'," +
+        "'Isabela','João','Karina','Lucas','Mariana','Nicolas','Olívia','Pedro','Rafaela','Samuel','Tatiana','Vinícius']";
+    private static final String LAST_NAMES = "ARRAY['Silva','Santos','Oliveira','Souza','Rodrigues','Ferreira','Alves'," +
+        "'Pereira','Lima','Gomes','Costa','Ribeiro','Martins','Carvalho','Almeida','Lopes','Soares','Fernandes','Vieira','Barbosa']";
+
+    private final EmbeddedPostgres postgres;
+    private final List<Workspace> workspaces = new ArrayList<>();
+
+    private LoadTestDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static LoadTestDatabase start(int workspaceCount, int patientsPerWorkspace) throws IOException, SQLException {
+        LoadTestDatabase database = new LoadTestDatabase(EmbeddedPostgres.builder().start());
+        database.applySchema();
+        database.seed(workspaceCount, patientsPerWorkspace);
+        return database;
+    }
+
+    String jdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    DataSource dataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    List<Workspace> workspaces() {
+        return workspaces;
+    }
+
+    void close() throws IOException {
+        postgres.close();
+    }
+
+    private void applySchema() throws IOException, SQLException {
+        String schema = Files.readString(Path.of("docker", "schema.sql"), StandardCharsets.UTF_8);
+        try (Connection conn = dataSource().getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(schema);
+        }
+    }
+
+    private void seed(int workspaceCount, int patientsPerWorkspace) throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        String workspaceSql = "WITH new_user AS (" +
+            "INSERT INTO users (id, workspace_id, full_name, email, password_hash, role) " +
+            "VALUES (CAST(? AS uuid), CAST(? AS uuid), ?, ?, ?, 'ADMIN') RETURNING id" +
+            ") INSERT INTO workspaces (id, name, document_type, document_number, owner_id) " +
+            "SELECT CAST(? AS uuid), ?, 'CNPJ', ?, id FROM new_user";
+
+        String patientsSql = "INSERT INTO patients (workspace_id, full_name, tax_id, birth_date, contact_phone, sex, email, address_city) " +
+            "SELECT CAST(? AS uuid), " +
+            "(" + FIRST_NAMES + ")[1 + i % 20] || ' ' || (" + LAST_NAMES + ")[1 + (i / 20) % 20] || ' ' || " +
+            "(" + LAST_NAMES + ")[1 + (i / 400) % 20] || ' ' || i, " +
+            "lpad(i::text, 11, '0'), '1985-06-15', '(11) 9' || lpad(i::text, 8, '0'), " +
+            "CAST((ARRAY['MALE','FEMALE','OTHER'])[1 + i % 3] AS patients_sex_enum), 'paciente' || i || '@email.com', 'São Paulo' " +
+            "FROM generate_series(1, ?) AS i";
+
+        try (Connection conn = dataSource().getConnection();
+             PreparedStatement workspaceStmt = conn.prepareStatement(workspaceSql);
+             PreparedStatement patientsStmt = conn.prepareStatement(patientsSql)) {
+            for (int w = 0; w < workspaceCount; w++) {
+                UUID userId = UUID.randomUUID();
+                UUID workspaceId = UUID.randomUUID();
+                String email = "carga" + w + "@mediapp.test";
+
+                workspaceStmt.setString(1, userId.toString());
+                workspaceStmt.setString(2, workspaceId.toString());
+                workspaceStmt.setString(3, "Usuário Carga " + w);
+                workspaceStmt.setString(4, email);
+                workspaceStmt.setString(5, passwordHash);
+                workspaceStmt.setString(6, workspaceId.toString());
+                workspaceStmt.setString(7, "Clínica Carga " + w);
+                workspaceStmt.setString(8, String.format("%014d", w));
+                workspaceStmt.executeUpdate();
+
+                patientsStmt.setString(1, workspaceId.toString());
+                patientsStmt.setInt(2, patientsPerWorkspace);
+                patientsStmt.executeUpdate();
+
+                workspaces.add(new Workspace(workspaceId, email, samplePatientIds(conn, workspaceId)));
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+    }
+
+    private static List<UUID> samplePatientIds(Connection conn, UUID workspaceId) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id FROM patients WHERE workspace_id = CAST(? AS uuid) ORDER BY random() LIMIT 500")) {
+            stmt.setString(1, workspaceId.toString());
+            try (var rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(UUID.fromString(rs.getString(1)));
+                }
+            }
+        }
+        return ids;
+    }
+
+    record Workspace(UUID id, String email, List<UUID> patientIds) {}
+}
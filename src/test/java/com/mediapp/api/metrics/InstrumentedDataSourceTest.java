@@ -0,0 +1,76 @@
+package com.mediapp.api.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InstrumentedDataSource Tests - Métricas de SQL")
+class InstrumentedDataSourceTest {
+
+    @Test
+    @DisplayName("statementName deve resumir o SQL como verbo e tabela")
+    void statementName_ShouldSummarizeVerbAndTable() {
+        // Assert
+        assertEquals("insert patients", InstrumentedDataSource.statementName(
+            "WITH written AS (INSERT INTO patients (id) VALUES (?) RETURNING *) SELECT p.* FROM written p"));
+        assertEquals("update patients", InstrumentedDataSource.statementName(
+            "UPDATE patients SET full_name = ?, updated_at = ? WHERE id = CAST(? AS uuid)"));
+        assertEquals("delete users", InstrumentedDataSource.statementName("delete from users where id = ?"));
+        assertEquals("select patients", InstrumentedDataSource.statementName(
+            "SELECT p.id, p.updated_at FROM patients p LEFT JOIN workspaces w ON w.id = p.workspace_id"));
+        assertEquals("analyze", InstrumentedDataSource.statementName("ANALYZE"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar tempo e linhas de cada comando executado")
+    void connection_ShouldRecordStatementTimeAndRows() throws SQLException {
+        // Arrange
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(h2, registry);
+
+        // Act
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE items (id INT PRIMARY KEY)");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO items (id) VALUES (?)")) {
+                for (int i = 1; i <= 3; i++) {
+                    stmt.setInt(1, i);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM items WHERE id > ?")) {
+                stmt.setInt(1, 1);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        // percorre o resultado
+                    }
+                }
+            }
+            assertThrows(SQLException.class, () -> {
+                try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO items (id) VALUES (1)")) {
+                    stmt.executeUpdate();
+                }
+            });
+        }
+
+        // Assert
+        assertEquals(1, registry.get("jdbc.statement").tags("statement", "insert items", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("jdbc.statement").tags("statement", "insert items", "outcome", "error").timer().count());
+        assertEquals(3, registry.get("jdbc.statement.rows").tag("statement", "insert items").summary().totalAmount());
+        assertEquals(1, registry.get("jdbc.statement").tags("statement", "select items", "outcome", "success").timer().count());
+        assertEquals(2, registry.get("jdbc.statement.rows").tag("statement", "select items").summary().totalAmount());
+    }
+}
@@ -192,5 +192,48 @@ class JwtUtilTest {
         // Act & Assert
         assertThrows(Exception.class, () -> jwtUtil.extractUserId(invalidToken));
     }
-}
 
+    @Test
+    @DisplayName("verify deve retornar os claims do token em uma única passada")
+    void verify_ShouldReturnClaims() {
+        // Arrange
+        User user = createTestUser();
+        String token = jwtUtil.generateToken(user);
+
+        // Act
+        var claims = jwtUtil.verify(token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals(user.getId(), claims.get().userId());
+        assertEquals(user.getEmail(), claims.get().email());
+        assertEquals(user.getWorkspace().getId(), claims.get().workspaceId());
+        assertEquals(UserRole.ADMIN, claims.get().role());
+        assertNotNull(claims.get().expiresAt());
+    }
+
+    @Test
+    @DisplayName("verify deve reutilizar claims de tokens já verificados")
+    void verify_ShouldReuseCachedClaims() {
+        // Arrange
+        String token = jwtUtil.generateToken(createTestUser());
+
+        // Act
+        var first = jwtUtil.verify(token);
+        var second = jwtUtil.verify(token);
+
+        // Assert
+        assertSame(first.get(), second.get());
+    }
+
+    @Test
+    @DisplayName("verify com token adulterado deve retornar vazio")
+    void verify_WithTamperedToken_ShouldReturnEmpty() {
+        // Arrange
+        String token = jwtUtil.generateToken(createTestUser());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+    }
+}
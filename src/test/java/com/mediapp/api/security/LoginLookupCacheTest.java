@@ -0,0 +1,65 @@
+package com.mediapp.api.security;
+
+import com.mediapp.api.entity.UserRole;
+import com.mediapp.api.security.LoginLookupCache.LoginAccount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginLookupCache Tests")
+class LoginLookupCacheTest {
+
+    private LoginLookupCache loginLookupCache;
+
+    @BeforeEach
+    void setUp() {
+        loginLookupCache = new LoginLookupCache(100, Duration.ofMinutes(5), Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("normalize deve remover espaços e ignorar maiúsculas")
+    void normalize_ShouldTrimAndLowerCase() {
+        // Assert
+        assertEquals("maria@clinica.com", LoginLookupCache.normalize("  Maria@Clinica.COM "));
+        assertEquals("", LoginLookupCache.normalize(null));
+    }
+
+    @Test
+    @DisplayName("get deve cachear também e-mails inexistentes")
+    void get_ShouldCacheUnknownEmails() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        loginLookupCache.get("nao-existe@teste.com", email -> { loads.incrementAndGet(); return Optional.empty(); });
+        Optional<LoginAccount> cached = loginLookupCache.get("nao-existe@teste.com",
+            email -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        // Assert
+        assertTrue(cached.isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("invalidate deve remover a entrada negativa após o registro")
+    void invalidate_ShouldRemoveNegativeEntry() {
+        // Arrange
+        LoginAccount account = new LoginAccount(UUID.randomUUID(), "novo@teste.com", "$2a$10$hash", UserRole.ADMIN, UUID.randomUUID());
+        loginLookupCache.get("novo@teste.com", email -> Optional.empty());
+
+        // Act
+        loginLookupCache.invalidate("Novo@Teste.com");
+        Optional<LoginAccount> loaded = loginLookupCache.get("novo@teste.com", email -> Optional.of(account));
+
+        // Assert
+        assertEquals(Optional.of(account), loaded);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mediapp.api.security;
+
+import com.mediapp.api.entity.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PrincipalCache Tests")
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5), meterRegistry, new TokenRevocationList(3600000L));
+    }
+
+    private AuthenticatedUser createTestUser(UUID id) {
+        return new AuthenticatedUser(id, "test@example.com", UUID.randomUUID(), UserRole.ADMIN);
+    }
+
+    @Test
+    @DisplayName("get deve carregar o usuário apenas uma vez")
+    void get_ShouldLoadUserOnlyOnce() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        principalCache.get(userId, id -> { loads.incrementAndGet(); return Optional.of(createTestUser(id)); });
+        Optional<AuthenticatedUser> cached = principalCache.get(userId, id -> { loads.incrementAndGet(); return Optional.of(createTestUser(id)); });
+
+        // Assert
+        assertTrue(cached.isPresent());
+        assertEquals(userId, cached.get().id());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principals").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("get não deve cachear usuários inexistentes")
+    void get_ShouldNotCacheMissingUsers() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        principalCache.get(userId, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        Optional<AuthenticatedUser> result = principalCache.get(userId, id -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("invalidate deve forçar nova carga do usuário")
+    void invalidate_ShouldForceReload() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        principalCache.get(userId, id -> { loads.incrementAndGet(); return Optional.of(createTestUser(id)); });
+
+        // Act
+        principalCache.invalidate(userId);
+        principalCache.get(userId, id -> { loads.incrementAndGet(); return Optional.of(createTestUser(id)); });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("invalidate deve revogar claims de tokens emitidos antes da invalidação")
+    void invalidate_ShouldRevokeOlderTokens() {
+        // Arrange
+        TokenRevocationList revocationList = new TokenRevocationList(3600000L);
+        PrincipalCache cache = new PrincipalCache(100, Duration.ofMinutes(5), meterRegistry, revocationList);
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        JwtClaims oldToken = new JwtClaims(userId, "test@example.com", UUID.randomUUID(), UserRole.ADMIN,
+            now.minusSeconds(60), now.plusSeconds(3600));
+        JwtClaims newToken = new JwtClaims(userId, "test@example.com", UUID.randomUUID(), UserRole.ADMIN,
+            now.plusSeconds(1), now.plusSeconds(3600));
+
+        // Act
+        cache.invalidate(userId);
+
+        // Assert
+        assertTrue(revocationList.isRevoked(oldToken));
+        assertFalse(revocationList.isRevoked(newToken));
+    }
+}
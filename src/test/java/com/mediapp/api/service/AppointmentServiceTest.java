@@ -0,0 +1,57 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AppointmentService Tests - validação de intervalos e conflitos")
+class AppointmentServiceTest {
+
+    private static final Instant START = Instant.parse("2024-05-20T13:00:00Z");
+
+    @Test
+    @DisplayName("Deve recusar término anterior ao início e duração acima do limite")
+    void validateInterval_ShouldRejectInvalidIntervals() {
+        // Act & Assert
+        assertDoesNotThrow(() -> AppointmentService.validateInterval(START, START.plus(Duration.ofMinutes(30))));
+        assertDoesNotThrow(() -> AppointmentService.validateInterval(START, START.plus(AppointmentService.MAX_DURATION)));
+        assertThrows(BadRequestException.class, () -> AppointmentService.validateInterval(START, START));
+        assertThrows(BadRequestException.class,
+            () -> AppointmentService.validateInterval(START, START.minus(Duration.ofMinutes(30))));
+        assertThrows(BadRequestException.class,
+            () -> AppointmentService.validateInterval(START, START.plus(AppointmentService.MAX_DURATION).plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Deve limitar o intervalo de listagem a 31 dias")
+    void validateRange_ShouldLimitWindow() {
+        // Act & Assert
+        assertDoesNotThrow(() -> AppointmentService.validateRange(START, START.plus(Duration.ofDays(7))));
+        assertThrows(BadRequestException.class, () -> AppointmentService.validateRange(START, START));
+        assertThrows(BadRequestException.class, () -> AppointmentService.validateRange(null, START));
+        assertThrows(BadRequestException.class,
+            () -> AppointmentService.validateRange(START, START.plus(AppointmentService.MAX_RANGE).plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer a violação da constraint de exclusão de horários")
+    void isOverlapConflict_ShouldMatchExclusionConstraint() {
+        // Arrange
+        SQLException overlap = new SQLException(
+            "ERROR: conflicting key value violates exclusion constraint \"appointments_user_time_no_overlap\"", "23P01");
+        SQLException otherExclusion = new SQLException("ERROR: violates exclusion constraint \"other\"", "23P01");
+        SQLException uniqueViolation = new SQLException(
+            "ERROR: duplicate key value violates \"appointments_user_time_no_overlap\"", "23505");
+
+        // Act & Assert
+        assertTrue(AppointmentService.isOverlapConflict(overlap));
+        assertFalse(AppointmentService.isOverlapConflict(otherExclusion));
+        assertFalse(AppointmentService.isOverlapConflict(uniqueViolation));
+    }
+}
@@ -5,6 +5,9 @@ import com.mediapp.api.entity.*;
 import com.mediapp.api.exception.ConflictException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -233,4 +236,30 @@ class AuthServiceTest {
         // Assert
         assertEquals(message, exception.getMessage());
     }
+
+    private DuplicateKeyException registerViolation(String constraint) {
+        // Mensagem como a do Spring: o SQL do cadastro contém "email" mesmo quando a violação é em outra constraint
+        PSQLException cause = new PSQLException(new ServerErrorMessage(
+            "SERROR\0C23505\0Mduplicate key value violates unique constraint \"" + constraint + "\"\0n" + constraint + "\0"));
+        return new DuplicateKeyException("PreparedStatementCallback; SQL [WITH new_user AS (INSERT INTO users "
+            + "(id, workspace_id, full_name, email, password_hash) ...]; " + cause.getMessage(), cause);
+    }
+
+    @Test
+    @DisplayName("Cadastro deve distinguir e-mail em uso de colisão no número de documento do workspace")
+    void isDocumentNumberCollision_ShouldBranchOnViolatedConstraint() {
+        // Arrange
+        DuplicateKeyException emailViolation = registerViolation("users_email_key");
+        DuplicateKeyException caseInsensitiveEmailViolation = registerViolation("users_email_lower_key");
+        DuplicateKeyException documentViolation = registerViolation("workspaces_document_type_document_number_key");
+        DuplicateKeyException otherViolation = registerViolation("users_crm_key");
+
+        // Act & Assert
+        ConflictException conflict = assertThrows(ConflictException.class,
+            () -> AuthService.isDocumentNumberCollision(emailViolation));
+        assertEquals("Este e-mail já está em uso.", conflict.getMessage());
+        assertThrows(ConflictException.class, () -> AuthService.isDocumentNumberCollision(caseInsensitiveEmailViolation));
+        assertTrue(AuthService.isDocumentNumberCollision(documentViolation));
+        assertFalse(AuthService.isDocumentNumberCollision(otherViolation));
+    }
 }
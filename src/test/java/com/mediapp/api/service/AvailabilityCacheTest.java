@@ -0,0 +1,82 @@
+package com.mediapp.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AvailabilityCache Tests - invalidação por profissional")
+class AvailabilityCacheTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDate MONDAY = LocalDate.of(2024, 5, 20);
+
+    private final UUID workspaceId = UUID.randomUUID();
+    private final UUID doctorId = UUID.randomUUID();
+    private UUID otherDoctorId;
+    private final AtomicInteger loads = new AtomicInteger();
+    private AvailabilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AvailabilityCache(100, Duration.ofMinutes(10), ZONE, new SimpleMeterRegistry());
+        // Outro profissional com versão própria (fora da faixa de versões do primeiro)
+        do {
+            otherDoctorId = UUID.randomUUID();
+        } while (AvailabilityCache.stripe(workspaceId, otherDoctorId) == AvailabilityCache.stripe(workspaceId, doctorId));
+    }
+
+    private Map<AvailabilityCache.DayKey, List<AvailabilityCalculator.Interval>> load(Set<AvailabilityCache.DayKey> keys,
+                                                                                      Runnable duringLoad) {
+        loads.incrementAndGet();
+        duringLoad.run();
+        Map<AvailabilityCache.DayKey, List<AvailabilityCalculator.Interval>> loaded = new HashMap<>();
+        keys.forEach(key -> loaded.put(key, List.of()));
+        return loaded;
+    }
+
+    @Test
+    @DisplayName("Carregamento concorrente com invalidação do mesmo profissional não deve ser armazenado")
+    void getAll_WhenSameDoctorIsInvalidatedDuringLoad_ShouldNotCache() {
+        // Arrange
+        Set<AvailabilityCache.DayKey> keys = Set.of(new AvailabilityCache.DayKey(workspaceId, doctorId, MONDAY));
+        Runnable booking = () -> cache.invalidate(workspaceId, doctorId,
+            MONDAY.atTime(9, 0).atZone(ZONE).toInstant(), MONDAY.atTime(9, 30).atZone(ZONE).toInstant());
+
+        // Act
+        cache.getAll(keys, missing -> load(missing, booking));
+        cache.getAll(keys, missing -> load(missing, () -> {}));
+        cache.getAll(keys, missing -> load(missing, () -> {}));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Invalidação de outro profissional durante o carregamento não deve impedir o cache")
+    void getAll_WhenOtherDoctorIsInvalidatedDuringLoad_ShouldCache() {
+        // Arrange
+        Set<AvailabilityCache.DayKey> keys = Set.of(new AvailabilityCache.DayKey(workspaceId, doctorId, MONDAY));
+        Runnable otherBooking = () -> cache.invalidate(workspaceId, otherDoctorId,
+            MONDAY.atTime(9, 0).atZone(ZONE).toInstant(), MONDAY.atTime(9, 30).atZone(ZONE).toInstant());
+
+        // Act
+        cache.getAll(keys, missing -> load(missing, otherBooking));
+        cache.getAll(keys, missing -> load(missing, () -> {}));
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,91 @@
+package com.mediapp.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AvailabilityCalculator Tests - horários livres")
+class AvailabilityCalculatorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDate MONDAY = LocalDate.of(2024, 5, 20);
+
+    private static Instant at(String time) {
+        return MONDAY.atTime(LocalTime.parse(time)).atZone(ZONE).toInstant();
+    }
+
+    private static AvailabilityCalculator.Interval interval(String start, String end) {
+        return new AvailabilityCalculator.Interval(at(start), at(end));
+    }
+
+    @Test
+    @DisplayName("Deve subtrair ocupados sobrepostos e fora de ordem dos períodos de atendimento")
+    void freeIntervals_ShouldMergeBusyAndSubtractFromWorkingHours() {
+        // Arrange
+        List<AvailabilityCalculator.Interval> working = List.of(interval("08:00", "12:00"), interval("13:00", "18:00"));
+        List<AvailabilityCalculator.Interval> busy = List.of(
+            interval("09:30", "10:00"),
+            interval("09:00", "09:45"),
+            interval("11:30", "13:30"),
+            interval("07:00", "08:15"),
+            interval("17:30", "19:00"));
+
+        // Act
+        List<AvailabilityCalculator.Interval> free = AvailabilityCalculator.freeIntervals(working, busy);
+
+        // Assert
+        assertEquals(List.of(
+            interval("08:15", "09:00"),
+            interval("10:00", "11:30"),
+            interval("13:30", "17:30")), free);
+    }
+
+    @Test
+    @DisplayName("Deve gerar horários consecutivos respeitando notBefore e o limite")
+    void slots_ShouldSplitFreeIntervalsRespectingNotBeforeAndLimit() {
+        // Arrange
+        List<AvailabilityCalculator.Interval> free = List.of(interval("08:00", "09:45"), interval("10:00", "11:00"));
+
+        // Act
+        List<AvailabilityCalculator.Interval> all = AvailabilityCalculator.slots(free, Duration.ofMinutes(30), at("00:00"), 10);
+        List<AvailabilityCalculator.Interval> later = AvailabilityCalculator.slots(free, Duration.ofMinutes(30), at("08:10"), 2);
+
+        // Assert
+        assertEquals(List.of(
+            interval("08:00", "08:30"),
+            interval("08:30", "09:00"),
+            interval("09:00", "09:30"),
+            interval("10:00", "10:30"),
+            interval("10:30", "11:00")), all);
+        assertEquals(List.of(interval("08:30", "09:00"), interval("09:00", "09:30")), later);
+    }
+
+    @Test
+    @DisplayName("Deve montar os períodos apenas nos dias de atendimento e validar a configuração")
+    void workingIntervals_ShouldUseTemplateOnlyOnWorkingDays() {
+        // Arrange
+        Set<DayOfWeek> weekdays = AvailabilityCalculator.parseWeekdays("monday, TUESDAY");
+        List<AvailabilityCalculator.Period> periods = AvailabilityCalculator.parsePeriods("13:00-18:00,08:00-12:00");
+
+        // Act
+        List<AvailabilityCalculator.Interval> monday = AvailabilityCalculator.workingIntervals(MONDAY, ZONE, weekdays, periods);
+        List<AvailabilityCalculator.Interval> sunday =
+            AvailabilityCalculator.workingIntervals(MONDAY.minusDays(1), ZONE, weekdays, periods);
+
+        // Assert
+        assertEquals(List.of(interval("08:00", "12:00"), interval("13:00", "18:00")), monday);
+        assertTrue(sunday.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> AvailabilityCalculator.parsePeriods("08:00-12:00,11:00-14:00"));
+        assertThrows(IllegalArgumentException.class, () -> AvailabilityCalculator.parsePeriods("12:00-08:00"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingService Tests - Executor de hashing")
+class PasswordHashingServiceTest {
+
+    @Test
+    @DisplayName("Deve gerar e verificar hashes com o custo configurado")
+    void hashAndMatches_ShouldUseConfiguredStrength() {
+        // Arrange
+        PasswordHashingService service = service(new BCryptPasswordEncoder(4), 4, 1, 4);
+
+        // Act
+        String hash = service.hash("senha123");
+
+        // Assert
+        assertEquals(4, PasswordHashingService.bcryptCost(hash));
+        assertTrue(service.matches("senha123", hash));
+        assertFalse(service.matches("outra", hash));
+        assertFalse(service.needsRehash(hash));
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("needsRehash deve detectar custo diferente do configurado")
+    void needsRehash_ShouldDetectDifferentCost() {
+        // Arrange
+        PasswordHashingService service = service(new BCryptPasswordEncoder(5), 5, 1, 4);
+        String oldHash = new BCryptPasswordEncoder(4).encode("senha123");
+
+        // Assert
+        assertTrue(service.needsRehash(oldHash));
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(5).encode("senha123")));
+        assertFalse(service.needsRehash("hash-invalido"));
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve falhar com 503 quando a fila de hashing está cheia")
+    void hash_WhenQueueIsFull_ShouldThrowServiceUnavailable() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        PasswordHashingService service = service(blockingEncoder, 10, 1, 1);
+
+        // Act: uma tarefa em execução e outra na fila ocupam o executor
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.hash("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.hash("b"));
+        Thread.sleep(200);
+
+        // Assert
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> service.hash("c"));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    private static PasswordHashingService service(PasswordEncoder encoder, int strength, int threads, int queueCapacity) {
+        return new PasswordHashingService(encoder, strength, threads, queueCapacity,
+            Duration.ofSeconds(10), Duration.ofSeconds(2), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,52 @@
+package com.mediapp.api.service;
+
+import org.h2.tools.SimpleResultSet;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * ResultSets em memória com as mesmas colunas da consulta de pacientes (sem banco), usados pelos testes e benchmarks.
+ */
+public final class PatientResultSets {
+
+    private static final String[] STRING_COLUMNS = {
+        "id", "workspace_id", "full_name", "tax_id", "identity_document", "birth_date", "sex", "contact_phone",
+        "secondary_contact_phone", "email", "zip_code", "address_street", "address_number", "address_complement",
+        "address_neighborhood", "address_city", "address_state", "guardian_full_name", "guardian_tax_id",
+        "guardian_contact_phone", "health_insurance", "insurance_card_number", "allergies"
+    };
+
+    private PatientResultSets() {
+    }
+
+    public static SimpleResultSet patientResultSet(int rows) {
+        SimpleResultSet rs = new SimpleResultSet();
+        rs.setAutoClose(false);
+        for (String column : STRING_COLUMNS) {
+            rs.addColumn(column, Types.VARCHAR, 255, 0);
+        }
+        rs.addColumn("fitzpatrick_phototype", Types.INTEGER, 10, 0);
+        rs.addColumn("general_observations", Types.VARCHAR, 1000, 0);
+        rs.addColumn("is_active", Types.BOOLEAN, 1, 0);
+        rs.addColumn("created_at", Types.TIMESTAMP, 26, 6);
+        rs.addColumn("updated_at", Types.TIMESTAMP, 26, 6);
+        rs.addColumn("workspace_id_col", Types.VARCHAR, 36, 0);
+        rs.addColumn("workspace_name", Types.VARCHAR, 255, 0);
+
+        String workspaceId = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < rows; i++) {
+            rs.addRow(
+                UUID.randomUUID().toString(), workspaceId, "Paciente " + i, String.format("%011d", i), "12.345.678-9",
+                "1990-05-15", "FEMALE", "(11) 98765-4321", null, "paciente" + i + "@email.com", "01234-567",
+                "Rua das Flores", "123", null, "Centro", "São Paulo", "SP", null, null, null, "Unimed",
+                "123456789", "Alergia a penicilina", 3, "Observações gerais", true, now, now,
+                workspaceId, "Clínica Teste"
+            );
+        }
+        return rs;
+    }
+}
@@ -1,15 +1,30 @@
 package com.mediapp.api.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mediapp.api.dto.patient.CreatePatientDto;
+import com.mediapp.api.dto.patient.PatientExportFormat;
 import com.mediapp.api.dto.patient.UpdatePatientDto;
 import com.mediapp.api.entity.*;
+import com.mediapp.api.exception.BadRequestException;
 import com.mediapp.api.exception.ConflictException;
 import com.mediapp.api.exception.NotFoundException;
+import com.mediapp.api.security.AuthenticatedUser;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -294,4 +309,240 @@ class PatientServiceTest {
         // Assert - campo active é inicializado como true na entidade
         assertEquals(true, patient.getActive());
     }
+
+    @Test
+    @DisplayName("PatientCursor deve codificar e decodificar a chave de paginação")
+    void patientCursor_ShouldRoundTrip() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        PatientCursor cursor = new PatientCursor("José da Conceição", id);
+
+        // Act
+        PatientCursor decoded = PatientCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals("José da Conceição", decoded.fullName());
+        assertEquals(id, decoded.id());
+    }
+
+    @Test
+    @DisplayName("PatientCursor inválido deve lançar BadRequestException")
+    void patientCursor_WithInvalidValue_ShouldThrowBadRequest() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> PatientCursor.decode("cursor-invalido"));
+    }
+
+    @Test
+    @DisplayName("Exportação CSV deve escapar vírgulas, aspas e quebras de linha")
+    void exportCsv_ShouldEscapeSpecialCharacters() throws Exception {
+        // Arrange
+        StringWriter writer = new StringWriter();
+
+        // Act
+        PatientExportWriter.writeEscaped(writer, "Alergia a \"dipirona\", penicilina\nobs");
+        writer.write('|');
+        PatientExportWriter.writeEscaped(writer, "Maria Silva");
+
+        // Assert
+        assertEquals("\"Alergia a \"\"dipirona\"\", penicilina\nobs\"|Maria Silva", writer.toString());
+    }
+
+    @Test
+    @DisplayName("Importação JSON deve registrar erro para elementos null e linhas inválidas")
+    void importPatients_WithNullElement_ShouldReportEveryFailedRow() {
+        // Arrange
+        PatientService patientService = new PatientService(new ObjectMapper(), null,
+            Validation.buildDefaultValidatorFactory().getValidator(), null);
+        AuthenticatedUser user = new AuthenticatedUser(testUser.getId(), testUser.getEmail(), testWorkspace.getId(), UserRole.ADMIN);
+        CreatePatientDto withoutName = new CreatePatientDto(
+            null, "123.456.789-00", "1990-05-15", "(11) 98765-4321",
+            null, SexType.FEMALE, null, null,
+            null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null
+        );
+
+        // Act
+        var result = patientService.importPatients(Arrays.asList(null, withoutName), user);
+
+        // Assert
+        assertEquals(2, result.totalRows());
+        assertEquals(0, result.importedRows());
+        assertEquals(2, result.failedRows());
+        assertEquals(result.failedRows(), result.errors().size());
+        assertEquals(1, result.errors().get(0).row());
+        assertEquals(2, result.errors().get(1).row());
+    }
+
+    @Test
+    @DisplayName("Importação deve reportar como erro da linha os campos maiores que a coluna no banco")
+    void importPatients_WithOverlongFields_ShouldReportRowError() {
+        // Arrange
+        PatientService patientService = new PatientService(new ObjectMapper(), null,
+            Validation.buildDefaultValidatorFactory().getValidator(), null);
+        AuthenticatedUser user = new AuthenticatedUser(testUser.getId(), testUser.getEmail(), testWorkspace.getId(), UserRole.ADMIN);
+        CreatePatientDto overlong = new CreatePatientDto(
+            "Maria Silva Santos", "123.456.789-00", "1990-05-15", "(11) 98765-4321 ramal 2030",
+            null, SexType.FEMALE, null, null,
+            null, null, null, null, null, null, "São Paulo",
+            null, null, null, null, null, null, null, null
+        );
+
+        // Act
+        var result = patientService.importPatients(Arrays.asList(overlong), user);
+
+        // Assert
+        assertEquals(0, result.importedRows());
+        assertEquals(1, result.errors().size());
+        assertEquals(List.of("O estado deve ter no máximo 2 caracteres.", "O telefone de contato deve ter no máximo 20 caracteres."),
+            result.errors().get(0).messages());
+    }
+
+    @Test
+    @DisplayName("Linha rejeitada pelo banco na importação deve gerar mensagem sem expor o erro do SQL")
+    void rejectedRowMessage_ShouldDescribeTruncationWithoutSqlDetails() {
+        // Arrange
+        SQLException tooLong = new SQLException("ERROR: value too long for type character varying(2)", "22001");
+        SQLException other = new SQLException("ERROR: new row violates check constraint", "23514");
+
+        // Act & Assert
+        assertEquals("Um dos campos excede o tamanho máximo permitido.", PatientService.rejectedRowMessage(tooLong));
+        assertEquals("Linha rejeitada pelo banco de dados.", PatientService.rejectedRowMessage(other));
+    }
+
+    @Test
+    @DisplayName("Exportação CSV deve escrever a coluna active como true/false")
+    void exportCsv_ShouldWriteActiveAsBoolean() throws Exception {
+        // Arrange
+        var resultSet = PatientResultSets.patientResultSet(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PatientExportWriter csv = PatientExportWriter.create(
+            PatientExportFormat.CSV, out, new JsonFactory());
+
+        // Act
+        resultSet.next();
+        csv.writeRow(resultSet);
+        csv.finish();
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        int activeIndex = Arrays.asList(lines[0].split(",")).indexOf("active");
+        assertEquals("true", lines[1].split(",")[activeIndex]);
+    }
+
+    @Test
+    @DisplayName("PatientRowMapper deve mapear colunas por índice, incluindo workspace")
+    void patientRowMapper_ShouldMapRowByIndex() throws Exception {
+        // Arrange
+        var resultSet = PatientResultSets.patientResultSet(2);
+        PatientRowMapper rowMapper = PatientRowMapper.forResultSet(resultSet);
+
+        // Act
+        resultSet.next();
+        Patient patient = rowMapper.mapRow(resultSet);
+
+        // Assert
+        assertNotNull(patient.getId());
+        assertEquals("Paciente 0", patient.getFullName());
+        assertEquals("00000000000", patient.getTaxId());
+        assertEquals(SexType.FEMALE, patient.getSex());
+        assertNull(patient.getSecondaryContactPhone());
+        assertEquals(3, patient.getFitzpatrickPhototype());
+        assertTrue(patient.getActive());
+        assertNotNull(patient.getCreatedAt());
+        assertEquals("Clínica Teste", patient.getWorkspace().getName());
+        assertSame(rowMapper, PatientRowMapper.forResultSet(resultSet));
+    }
+
+    @Test
+    @DisplayName("Templates de UPDATE devem ser reutilizados para o mesmo conjunto de campos")
+    void sqlTemplates_ShouldReuseUpdateTemplateForSameFields() {
+        // Arrange
+        PatientSqlTemplates templates = new PatientSqlTemplates(new io.micrometer.core.instrument.simple.SimpleMeterRegistry());
+        long mask = new PatientColumnValues()
+            .set(PatientColumn.UPDATED_AT, Timestamp.from(Instant.now()))
+            .set(PatientColumn.FULL_NAME, "Maria Silva")
+            .set(PatientColumn.SEX, SexType.FEMALE)
+            .set(PatientColumn.EMAIL, null)
+            .mask();
+
+        // Act
+        String first = templates.update(mask);
+        String second = templates.update(mask);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(first.startsWith("WITH written AS (UPDATE patients SET full_name = ?, updated_at = ?, " +
+            "sex = CAST(? AS patients_sex_enum) " +
+            "WHERE id = CAST(? AS uuid) AND workspace_id = CAST(? AS uuid) AND is_active = true RETURNING *)"));
+        assertEquals(3, templates.distinctShapes());
+    }
+
+    @Test
+    @DisplayName("Template de INSERT deve ter formato fixo com todas as colunas")
+    void sqlTemplates_InsertShouldContainAllColumns() {
+        // Arrange
+        PatientSqlTemplates templates = new PatientSqlTemplates(new io.micrometer.core.instrument.simple.SimpleMeterRegistry());
+
+        // Act
+        String sql = templates.insert();
+
+        // Assert
+        assertTrue(sql.startsWith("WITH written AS (INSERT INTO patients (id, workspace_id, full_name"));
+        assertTrue(sql.contains("RETURNING *"));
+        assertEquals(PatientColumn.values().length, sql.chars().filter(c -> c == '?').count());
+        assertSame(sql, templates.insert());
+    }
+
+    @Test
+    @DisplayName("Violação do índice único de CPF deve ser reconhecida como conflito")
+    void isTaxIdConflict_ShouldMatchOnlyTaxIdUniqueIndex() {
+        // Arrange
+        SQLException taxIdViolation = new SQLException(
+            "ERROR: duplicate key value violates unique constraint \"patients_workspace_id_tax_id_active_unique\"", "23505");
+        SQLException otherViolation = new SQLException(
+            "ERROR: duplicate key value violates unique constraint \"patients_pkey\"", "23505");
+        SQLException otherError = new SQLException("connection refused", "08001");
+
+        // Act & Assert
+        assertTrue(PatientService.isTaxIdConflict(taxIdViolation));
+        assertFalse(PatientService.isTaxIdConflict(otherViolation));
+        assertFalse(PatientService.isTaxIdConflict(otherError));
+    }
+
+    @Test
+    @DisplayName("Leitor CSV da importação deve mapear cabeçalho e tratar aspas e quebras de linha")
+    void patientCsvReader_ShouldParseQuotedFieldsByHeader() throws Exception {
+        // Arrange
+        String csv = "fullName,taxId,allergies,email\r\n" +
+            "Maria Silva,123.456.789-00,\"Dipirona, \"\"penicilina\"\"\nobs\",\r\n" +
+            "\r\n" +
+            "João Santos,98765432100,,joao@email.com\n";
+        PatientCsvReader reader = new PatientCsvReader(new StringReader(csv));
+
+        // Act
+        Map<String, String> first = reader.next();
+        Map<String, String> second = reader.next();
+        Map<String, String> end = reader.next();
+
+        // Assert
+        assertEquals("Maria Silva", first.get("fullName"));
+        assertEquals("Dipirona, \"penicilina\"\nobs", first.get("allergies"));
+        assertNull(first.get("email"));
+        assertEquals("98765432100", second.get("taxId"));
+        assertNull(second.get("allergies"));
+        assertEquals("joao@email.com", second.get("email"));
+        assertNull(end);
+    }
+
+    @Test
+    @DisplayName("Busca deve tratar CPF e telefone (com ou sem máscara) como consulta numérica")
+    void isNumericQuery_ShouldDetectTaxIdAndPhoneQueries() {
+        // Act & Assert
+        assertTrue(PatientService.isNumericQuery("123.456"));
+        assertTrue(PatientService.isNumericQuery("(11) 98765-4321"));
+        assertTrue(PatientService.isNumericQuery("12345678900"));
+        assertFalse(PatientService.isNumericQuery("maria silva"));
+        assertFalse(PatientService.isNumericQuery("Maria 2"));
+        assertFalse(PatientService.isNumericQuery("(-)"));
+    }
 }
@@ -0,0 +1,108 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.dto.patient.PatientSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PatientTypeaheadIndex Tests")
+class PatientTypeaheadIndexTest {
+
+    private PatientTypeaheadIndex index;
+    private UUID workspaceId;
+    private AtomicInteger loads;
+    private List<PatientSummaryDto> stored;
+
+    @BeforeEach
+    void setUp() {
+        index = new PatientTypeaheadIndex(true, 1000, Duration.ofMinutes(30), new SimpleMeterRegistry());
+        workspaceId = UUID.randomUUID();
+        loads = new AtomicInteger();
+        stored = List.of(
+            summary("José Antônio Conceição", "12345678900", "(11) 98765-4321"),
+            summary("Maria Silva Santos", "98765432100", "(21) 91234-5678"),
+            summary("Mariana Souza", "11122233344", "(31) 3333-4444")
+        );
+    }
+
+    private PatientSummaryDto summary(String fullName, String taxId, String phone) {
+        return new PatientSummaryDto(UUID.randomUUID(), fullName, taxId, "1990-01-01", phone);
+    }
+
+    private List<PatientSummaryDto> load(UUID id) {
+        loads.incrementAndGet();
+        return stored;
+    }
+
+    @Test
+    @DisplayName("Deve buscar por prefixo de palavras ignorando acentos e carregar o workspace uma vez")
+    void search_ShouldMatchAccentFoldedPrefixes() {
+        // Act
+        List<PatientSummaryDto> mar = index.search(workspaceId, "MAR", 10, this::load);
+        List<PatientSummaryDto> conceicao = index.search(workspaceId, "jose conce", 10, this::load);
+
+        // Assert
+        assertEquals(List.of("Maria Silva Santos", "Mariana Souza"), mar.stream().map(PatientSummaryDto::fullName).toList());
+        assertEquals(1, conceicao.size());
+        assertEquals("José Antônio Conceição", conceicao.get(0).fullName());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deve buscar por prefixo de CPF e de dígitos do telefone")
+    void search_ShouldMatchTaxIdAndPhoneDigits() {
+        // Act
+        List<PatientSummaryDto> byTaxId = index.search(workspaceId, "123.456", 10, this::load);
+        List<PatientSummaryDto> byPhone = index.search(workspaceId, "(21) 9123", 10, this::load);
+
+        // Assert
+        assertEquals("José Antônio Conceição", byTaxId.get(0).fullName());
+        assertEquals("Maria Silva Santos", byPhone.get(0).fullName());
+    }
+
+    @Test
+    @DisplayName("Deve refletir criação, renomeação e remoção de pacientes já indexados")
+    void onSavedAndRemoved_ShouldKeepIndexCurrent() {
+        // Arrange
+        index.search(workspaceId, "ma", 10, this::load);
+        PatientSummaryDto maria = stored.get(1);
+        PatientSummaryDto created = summary("Marcos Lima", "55566677788", "(41) 90000-0000");
+
+        // Act
+        index.onSaved(workspaceId, created);
+        index.onSaved(workspaceId, new PatientSummaryDto(maria.id(), "Beatriz Silva", maria.taxId(),
+            maria.birthDate(), maria.contactPhone()));
+        index.onRemoved(workspaceId, stored.get(2).id());
+
+        // Assert
+        assertEquals(List.of("Marcos Lima"),
+            index.search(workspaceId, "mar", 10, this::load).stream().map(PatientSummaryDto::fullName).toList());
+        assertEquals(1, index.search(workspaceId, "beatriz", 10, this::load).size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o workspace quando crescer além do limite de pacientes em memória")
+    void onSaved_WhenIndexGrowsPastLimit_ShouldEvictWorkspace() {
+        // Arrange
+        index = new PatientTypeaheadIndex(true, 4, Duration.ofMinutes(30), new SimpleMeterRegistry());
+        index.search(workspaceId, "ma", 10, this::load);
+
+        // Act
+        index.onSaved(workspaceId, summary("Marcos Lima", "55566677788", "(41) 90000-0000"));
+        index.onSaved(workspaceId, summary("Paulo Reis", "99988877766", "(51) 91111-2222"));
+        index.cleanUp();
+        index.search(workspaceId, "ma", 10, this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,74 @@
+package com.mediapp.api.service;
+
+import com.mediapp.api.entity.UserRole;
+import com.mediapp.api.exception.BadRequestException;
+import com.mediapp.api.security.AuthenticatedUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RecordService Tests - linha do tempo e busca no prontuário")
+class RecordServiceTest {
+
+    @Test
+    @DisplayName("RecordCursor deve codificar e decodificar a chave preservando microssegundos")
+    void recordCursor_ShouldRoundTrip() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        Instant recordDate = Instant.parse("2024-05-20T13:00:00.123456Z");
+        RecordCursor cursor = new RecordCursor(recordDate, id);
+
+        // Act
+        RecordCursor decoded = RecordCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(recordDate, decoded.recordDate());
+        assertEquals(id, decoded.id());
+    }
+
+    @Test
+    @DisplayName("Busca no prontuário com termo muito curto deve lançar BadRequestException sem consultar o banco")
+    void search_WithShortQuery_ShouldThrowBadRequest() {
+        // Arrange
+        RecordService recordService = new RecordService(null);
+        AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "medico@email.com", UUID.randomUUID(), UserRole.MEMBER);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> recordService.search(user, " m ", null, 20));
+        assertThrows(BadRequestException.class, () -> recordService.search(user, null, null, 20));
+    }
+
+    @Test
+    @DisplayName("Trecho destacado deve escapar o HTML do registro e manter apenas as marcações <mark>")
+    void highlight_ShouldEscapeRecordTextAndKeepMarks() {
+        // Arrange
+        String headline = "<script>alert('x')</script> \u0002melasma\u0003 & <b>manchas</b>";
+
+        // Act
+        String snippet = RecordService.highlight(headline);
+
+        // Assert
+        assertEquals("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; <mark>melasma</mark> &amp; &lt;b&gt;manchas&lt;/b&gt;", snippet);
+        assertNull(RecordService.highlight(null));
+    }
+
+    @Test
+    @DisplayName("RecordCursor inválido deve lançar BadRequestException")
+    void recordCursor_WithInvalidValue_ShouldThrowBadRequest() {
+        // Arrange
+        String withoutSeparator = Base64.getUrlEncoder().encodeToString("1716210000".getBytes(StandardCharsets.UTF_8));
+        String invalidDate = Base64.getUrlEncoder()
+            .encodeToString(("abc\u0000" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> RecordCursor.decode("cursor-invalido!"));
+        assertThrows(BadRequestException.class, () -> RecordCursor.decode(withoutSeparator));
+        assertThrows(BadRequestException.class, () -> RecordCursor.decode(invalidDate));
+    }
+}